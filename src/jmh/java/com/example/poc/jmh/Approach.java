@@ -0,0 +1,30 @@
+package com.example.poc.jmh;
+
+/**
+ * JMH {@code @Param} 的方案清單，順序與標籤對應 {@code RepositoryBenchmarkTest} Final Report 的六個欄位。
+ */
+public enum Approach {
+    DDD_JPA("DDD+JPA", true),
+    DDD_JDBC("DDD+JDBC", false),
+    TRAD_JPA("Trad+JPA", true),
+    TRAD_JDBC("Trad+JDBC", false),
+    DDD_JSONB("DDD+JSONB", false),
+    DDD_SPRING_JDBC("DDD+SpringJDBC", false);
+
+    private final String label;
+    private final boolean jpa;
+
+    Approach(String label, boolean jpa) {
+        this.label = label;
+        this.jpa = jpa;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    /** JPA 方案每次操作前清空 persistence context，與 JUnit benchmark 的 clearPersistenceContext() 相同 */
+    public boolean jpa() {
+        return jpa;
+    }
+}
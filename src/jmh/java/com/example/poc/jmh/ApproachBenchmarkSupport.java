@@ -0,0 +1,84 @@
+package com.example.poc.jmh;
+
+import com.example.poc.DddRepositoryPocApplication;
+import com.example.poc.support.BenchmarkPostgres;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 所有 JMH benchmark 的共同 trial 生命週期：每個 fork 啟動自己的 PostgreSQL ({@link BenchmarkPostgres}：
+ * 預設 Testcontainers，{@code -Dbenchmark.database=embedded} 為本機 binaries) 與 Spring context
+ * (與 JUnit benchmark 相同的 {@code DddRepositoryPocApplication} 與 application.properties)，
+ * trial 結束時關閉；{@code approach} 參數決定 {@link #ops} 分派到哪個 Repository / Service。
+ * <p>
+ * 預設 2 forks × (5 warmup + 10 measurement iterations)，可用 JMH 命令列參數 ({@code -f -wi -i -w -r}) 覆寫。
+ * Spring profile 以 {@code -Djmh.spring.profiles=tuned} 指定 (pom 傳給 host JVM，forked JVM 會繼承 host JVM 的 {@code -D} 參數)。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+public abstract class ApproachBenchmarkSupport {
+
+    @Param
+    public Approach approach;
+
+    protected ApproachOperations ops;
+
+    private BenchmarkPostgres postgres;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public final void startContext() {
+        postgres = BenchmarkPostgres.fromSystemProperties();
+        postgres.start();
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(DddRepositoryPocApplication.class)
+                .web(WebApplicationType.NONE);
+        String profiles = System.getProperty("jmh.spring.profiles", "");
+        if (!profiles.isBlank()) {
+            builder.profiles(profiles.split(","));
+        }
+        // command-line args so they override application.properties
+        List<String> args = new ArrayList<>(List.of(postgres.dataSourceArgs()));
+        args.add("--logging.level.root=WARN");
+        // 同 RepositoryBenchmarkTest：A~O 的 DDD 寫入不維護 Read Model
+        args.add("--poc.read-model.mode=OFF");
+        context = builder.run(args.toArray(String[]::new));
+        ops = new ApproachOperations(approach, context);
+        ops.deleteAll();
+        seed();
+    }
+
+    /** Trial 開始時的資料 (不計時)；預設為空表 */
+    protected void seed() {
+    }
+
+    @TearDown(Level.Trial)
+    public final void stopContext() {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.example.poc.jmh;
+
+import com.example.poc.approach3_traditional_jpa.service.TraditionalJpaOrderService;
+import com.example.poc.approach4_traditional_jdbc.service.TraditionalJdbcOrderService;
+import com.example.poc.domain.model.LineItemInput;
+import com.example.poc.domain.model.Order;
+import com.example.poc.domain.model.OrderStatus;
+import com.example.poc.domain.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 場景 A~O 的單一操作，依 {@link Approach} 分派到對應的 Repository / Service。
+ * <p>
+ * 每個方法對應 {@code RepositoryBenchmarkTest} 中一個 {@code measureAvg} 區塊內的程式碼 (同樣的資料形狀、同樣的 API)，
+ * 但不含 deleteAll / 重新 seed — 那些交給 JMH 的 {@code @Setup} / {@code @TearDown}，不計入量測時間。
+ */
+public final class ApproachOperations {
+
+    private final Approach approach;
+    private final OrderRepository repository;
+    private final TraditionalJpaOrderService tradJpaService;
+    private final TraditionalJdbcOrderService tradJdbcService;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    public ApproachOperations(Approach approach, ApplicationContext context) {
+        this.approach = approach;
+        this.repository = switch (approach) {
+            case DDD_JPA -> context.getBean("approach1OrderRepository", OrderRepository.class);
+            case DDD_JDBC -> context.getBean("dddJdbcOrderRepository", OrderRepository.class);
+            case DDD_JSONB -> context.getBean("dddJsonbOrderRepository", OrderRepository.class);
+            case DDD_SPRING_JDBC -> context.getBean("dddSpringDataJdbcOrderRepository", OrderRepository.class);
+            case TRAD_JPA, TRAD_JDBC -> null;
+        };
+        this.tradJpaService = context.getBean(TraditionalJpaOrderService.class);
+        this.tradJdbcService = context.getBean(TraditionalJdbcOrderService.class);
+        this.entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    public Approach approach() {
+        return approach;
+    }
+
+    // ── Seeding / cleanup (called from @Setup / @TearDown only) ─────────
+
+    public void deleteAll() {
+        clearPersistenceContext();
+        switch (approach) {
+            case TRAD_JPA -> tradJpaService.deleteAll();
+            case TRAD_JDBC -> tradJdbcService.deleteAll();
+            default -> repository.deleteAll();
+        }
+    }
+
+    /** 以各方案最快的寫入路徑建立一筆 Order (seed 用，不計時) */
+    public UUID seed(int itemCount) {
+        clearPersistenceContext();
+        return switch (approach) {
+            case TRAD_JPA -> {
+                UUID orderId = tradJpaService.createOrder("CUST-BENCH").getId();
+                tradJpaService.addLineItems(orderId, lineItemInputs(itemCount));
+                yield orderId;
+            }
+            case TRAD_JDBC -> tradJdbcService.createOrderWithItems("CUST-BENCH", lineItemInputs(itemCount));
+            default -> repository.save(createDddOrder(itemCount)).getId();
+        };
+    }
+
+    public void seed(int orderCount, int itemsPerOrder) {
+        for (int i = 0; i < orderCount; i++) {
+            seed(itemsPerOrder);
+        }
+        clearPersistenceContext();
+    }
+
+    /** 場景 M 每次 invocation 前：所有 Order 回到 DRAFT */
+    public void resetStatusToDraft() {
+        switch (approach) {
+            case TRAD_JPA -> jdbcTemplate.update("UPDATE trad_orders SET status = 'DRAFT'");
+            case TRAD_JDBC -> jdbcTemplate.update("UPDATE jdbc_orders SET status = 'DRAFT'");
+            case DDD_JSONB -> jdbcTemplate.update(
+                    "UPDATE jsonb_orders SET doc = doc || jsonb_build_object('status', 'DRAFT')");
+            default -> jdbcTemplate.update("UPDATE orders SET status = 'DRAFT'");
+        }
+        clearPersistenceContext();
+    }
+
+    // ── A / C: write ─────────────────────────────────────────────────────
+
+    /** 場景 A：建立一筆 N items 的 Order (Traditional 逐筆 addLineItem，與 JUnit 版相同) */
+    public UUID write(int itemCount) {
+        clearPersistenceContext();
+        return writeOne(itemCount);
+    }
+
+    /** 場景 C：連續建立 orderCount 筆 Order (JPA 每 50 筆清一次 persistence context) */
+    public int writeBatch(int orderCount, int itemsPerOrder) {
+        clearPersistenceContext();
+        for (int i = 0; i < orderCount; i++) {
+            if (approach == Approach.TRAD_JDBC) {
+                tradJdbcService.createOrderWithItems("CUST-BATCH", lineItemInputs(itemsPerOrder));
+            } else {
+                writeOne(itemsPerOrder);
+            }
+            if (i % 50 == 0) clearPersistenceContext();
+        }
+        return orderCount;
+    }
+
+    private UUID writeOne(int itemCount) {
+        return switch (approach) {
+            case TRAD_JPA -> {
+                UUID orderId = tradJpaService.createOrder("CUST-BENCH").getId();
+                for (int i = 0; i < itemCount; i++) {
+                    tradJpaService.addLineItem(orderId, "P" + i, "Product " + i, 1 + (i % 5), BigDecimal.valueOf(10 + i));
+                }
+                yield orderId;
+            }
+            case TRAD_JDBC -> {
+                UUID orderId = tradJdbcService.createOrder("CUST-BENCH");
+                for (int i = 0; i < itemCount; i++) {
+                    tradJdbcService.addLineItem(orderId, "P" + i, "Product " + i, 1 + (i % 5), BigDecimal.valueOf(10 + i));
+                }
+                yield orderId;
+            }
+            default -> repository.save(createDddOrder(itemCount)).getId();
+        };
+    }
+
+    // ── B / D: read one aggregate ───────────────────────────────────────
+
+    /** 場景 B：讀取完整 Aggregate (表頭 + 所有 LineItems) */
+    public Object readFull(UUID orderId) {
+        clearPersistenceContext();
+        return switch (approach) {
+            case TRAD_JPA -> tradJpaService.findOrderWithItems(orderId);
+            case TRAD_JDBC -> tradJdbcService.findOrderWithItems(orderId);
+            default -> repository.findById(orderId).orElseThrow();
+        };
+    }
+
+    /** 場景 D：只需要表頭 — DDD 仍必須載入完整 Aggregate */
+    public Object readOrderOnly(UUID orderId) {
+        clearPersistenceContext();
+        return switch (approach) {
+            case TRAD_JPA -> tradJpaService.findOrderOnly(orderId);
+            case TRAD_JDBC -> tradJdbcService.findOrderOnly(orderId);
+            default -> repository.findById(orderId).orElseThrow();
+        };
+    }
+
+    // ── E / F / G: modify one aggregate ─────────────────────────────────
+
+    public UUID firstLineItemId(UUID orderId) {
+        clearPersistenceContext();
+        return switch (approach) {
+            case TRAD_JPA -> tradJpaService.findOrderWithItems(orderId).items().getFirst().getId();
+            case TRAD_JDBC -> tradJdbcService.findFirstLineItemId(orderId);
+            default -> repository.findById(orderId).orElseThrow().getLineItems().getFirst().id();
+        };
+    }
+
+    /** 場景 E：修改第一個 LineItem 的數量 (DDD 載入 → 修改 → 儲存整個 Aggregate) */
+    public void updateLineItemQuantity(UUID orderId, UUID firstItemId, int quantity) {
+        clearPersistenceContext();
+        switch (approach) {
+            case TRAD_JPA -> tradJpaService.updateLineItemQuantity(firstItemId, quantity);
+            case TRAD_JDBC -> tradJdbcService.updateLineItemQuantity(firstItemId, quantity, orderId);
+            default -> {
+                Order order = repository.findById(orderId).orElseThrow();
+                order.updateLineItemQuantity(order.getLineItems().getFirst().id(), quantity);
+                repository.save(order);
+            }
+        }
+    }
+
+    /** 場景 F：只變更 status (DDD 先重設為 DRAFT 再 submit()，每次都是合法的狀態轉換) */
+    public void submit(UUID orderId) {
+        clearPersistenceContext();
+        switch (approach) {
+            case TRAD_JPA -> tradJpaService.updateOrderStatus(orderId, "SUBMITTED");
+            case TRAD_JDBC -> tradJdbcService.updateOrderStatus(orderId, "SUBMITTED");
+            default -> {
+                Order order = repository.findById(orderId).orElseThrow();
+                Order fresh = Order.reconstitute(order.getId(), order.getCustomerId(), OrderStatus.DRAFT,
+                        order.getTotalAmount(), order.getLineItems(), order.getCreatedAt(), order.getUpdatedAt(),
+                        order.getVersion());
+                fresh.submit();
+                repository.save(fresh);
+            }
+        }
+    }
+
+    /** 場景 F 變體：表頭 + item 數量，LineItems 在 submit() / save() 中都不載入 */
+    public void submitLazy(UUID orderId) {
+        clearPersistenceContext();
+        switch (approach) {
+            case TRAD_JPA, TRAD_JDBC -> submit(orderId);
+            default -> {
+                Order order = repository.findByIdWithLazyLineItems(orderId).orElseThrow();
+                Order fresh = Order.reconstituteWithLazyLineItems(order.getId(), order.getCustomerId(),
+                        OrderStatus.DRAFT, order.getTotalAmount(), order.getLineItemCount(), order::getLineItems,
+                        order.getCreatedAt(), order.getUpdatedAt(), order.getVersion());
+                fresh.submit();
+                repository.save(fresh);
+            }
+        }
+    }
+
+    /** 場景 G：刪除第一個 LineItem (Aggregate 收縮) */
+    public void removeFirstLineItem(UUID orderId) {
+        clearPersistenceContext();
+        switch (approach) {
+            case TRAD_JPA -> tradJpaService.removeLineItem(
+                    tradJpaService.findOrderWithItems(orderId).items().getFirst().getId());
+            case TRAD_JDBC -> tradJdbcService.removeLineItem(tradJdbcService.findFirstLineItemId(orderId), orderId);
+            default -> {
+                Order order = repository.findById(orderId).orElseThrow();
+                order.removeLineItem(order.getLineItems().getFirst().id());
+                repository.save(order);
+            }
+        }
+    }
+
+    // ── H / K / L / M / N / O: queries over many orders ─────────────────
+
+    /** 場景 H：列表查詢 — DDD 載入所有完整 Aggregate，Traditional 只讀表頭 */
+    public List<?> listAll() {
+        clearPersistenceContext();
+        return switch (approach) {
+            case TRAD_JPA -> tradJpaService.findAllOrders();
+            case TRAD_JDBC -> tradJdbcService.findAllOrders();
+            default -> repository.findAll();
+        };
+    }
+
+    /** 場景 K：連續讀 pages 頁，回傳讀到的筆數 */
+    public int readPages(int pages, int pageSize) {
+        clearPersistenceContext();
+        int rows = 0;
+        for (int page = 0; page < pages; page++) {
+            rows += switch (approach) {
+                case TRAD_JPA -> tradJpaService.findAllOrdersPaged(page, pageSize).size();
+                case TRAD_JDBC -> tradJdbcService.findAllOrdersPaged(page, pageSize).size();
+                default -> repository.findAllPaged(page, pageSize).size();
+            };
+        }
+        return rows;
+    }
+
+    /** 場景 L：count / sum / avg / groupBy status */
+    public Object aggregateReport() {
+        clearPersistenceContext();
+        return switch (approach) {
+            case TRAD_JPA -> tradJpaService.computeAggregateSummary();
+            case TRAD_JDBC -> tradJdbcService.computeAggregateSummary();
+            default -> repository.computeAggregateSummary();
+        };
+    }
+
+    /** 場景 M：所有 DRAFT → CANCELLED，回傳更新筆數 */
+    public int bulkCancelDrafts() {
+        clearPersistenceContext();
+        return switch (approach) {
+            case TRAD_JPA -> tradJpaService.bulkUpdateStatus("DRAFT", "CANCELLED");
+            case TRAD_JDBC -> tradJdbcService.bulkUpdateStatus("DRAFT", "CANCELLED");
+            default -> repository.bulkUpdateStatus(OrderStatus.DRAFT, OrderStatus.CANCELLED);
+        };
+    }
+
+    /** 場景 N：找出包含指定商品的所有訂單 */
+    public List<?> findByProductId(String productId) {
+        clearPersistenceContext();
+        return switch (approach) {
+            case TRAD_JPA -> tradJpaService.findByProductId(productId);
+            case TRAD_JDBC -> tradJdbcService.findOrdersByProductId(productId);
+            default -> repository.findByProductId(productId);
+        };
+    }
+
+    /** 場景 O：id / customerId / itemCount / totalAmount 投影 — DDD 只能從完整 Aggregate 對應 */
+    public List<?> projections() {
+        clearPersistenceContext();
+        return switch (approach) {
+            case TRAD_JPA -> tradJpaService.findAllOrders();
+            case TRAD_JDBC -> tradJdbcService.findOrderProjections();
+            default -> repository.findAll().stream()
+                    .map(order -> Map.of(
+                            "id", order.getId(),
+                            "customerId", order.getCustomerId(),
+                            "itemCount", order.getLineItemCount(),
+                            "totalAmount", order.getTotalAmount()))
+                    .toList();
+        };
+    }
+
+    // ── Data shapes (same as RepositoryBenchmarkTest) ────────────────────
+
+    private static Order createDddOrder(int itemCount) {
+        Order order = Order.create("CUST-BENCH");
+        for (int i = 0; i < itemCount; i++) {
+            order.addLineItem("P" + i, "Product " + i, 1 + (i % 5), BigDecimal.valueOf(10 + i));
+        }
+        return order;
+    }
+
+    private static List<LineItemInput> lineItemInputs(int itemCount) {
+        List<LineItemInput> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new LineItemInput("P" + i, "Product " + i, 1 + (i % 5), BigDecimal.valueOf(10 + i)));
+        }
+        return items;
+    }
+
+    private void clearPersistenceContext() {
+        if (approach.jpa()) {
+            entityManager.clear();
+        }
+    }
+}
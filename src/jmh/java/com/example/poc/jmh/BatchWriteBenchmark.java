@@ -0,0 +1,32 @@
+package com.example.poc.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 場景 C — 批次吞吐量 (預設 500 Orders × 5 items)。每次 invocation 都從空表開始 (單次 invocation 為數百 ms，
+ * {@code Level.Invocation} 的額外成本可忽略)。
+ */
+@State(Scope.Benchmark)
+public class BatchWriteBenchmark extends ApproachBenchmarkSupport {
+
+    @Param({"500"})
+    public int orderCount;
+
+    @Param({"5"})
+    public int itemsPerOrder;
+
+    @Setup(Level.Invocation)
+    public void clearTables() {
+        ops.deleteAll();
+    }
+
+    @Benchmark
+    public int c_batchWrite() {
+        return ops.writeBatch(orderCount, itemsPerOrder);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.poc.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 場景 M — 批次狀態更新 DRAFT → CANCELLED。Orders 只在 trial 開始時 seed 一次，
+ * 每次 invocation 前以一條 UPDATE 把狀態改回 DRAFT (JUnit 版每次重新 seed 並計入時間)。
+ */
+@State(Scope.Benchmark)
+public class BulkStatusUpdateBenchmark extends ApproachBenchmarkSupport {
+
+    @Param({"200"})
+    public int orderCount;
+
+    @Param({"5"})
+    public int itemsPerOrder;
+
+    @Override
+    protected void seed() {
+        ops.seed(orderCount, itemsPerOrder);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetToDraft() {
+        ops.resetStatusToDraft();
+    }
+
+    @Benchmark
+    public int m_bulkStatusUpdate() {
+        return ops.bulkCancelDrafts();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.poc.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * 場景 H / K / L / N / O — 唯讀查詢，trial 開始時 seed {@code orderCount} 筆 Orders × {@code itemsPerOrder} items。
+ * 每筆 Order 都含商品 P0，場景 N 的結果即為全部訂單 (與 JUnit 版相同)。
+ */
+@State(Scope.Benchmark)
+public class QueryBenchmark extends ApproachBenchmarkSupport {
+
+    @Param({"200"})
+    public int orderCount;
+
+    @Param({"5"})
+    public int itemsPerOrder;
+
+    @Override
+    protected void seed() {
+        ops.seed(orderCount, itemsPerOrder);
+    }
+
+    @Benchmark
+    public List<?> h_listAllOrders() {
+        return ops.listAll();
+    }
+
+    @Benchmark
+    public int k_paginated5Pages() {
+        return ops.readPages(5, 20);
+    }
+
+    @Benchmark
+    public Object l_aggregateReport() {
+        return ops.aggregateReport();
+    }
+
+    @Benchmark
+    public List<?> n_crossAggregateQuery() {
+        return ops.findByProductId("P0");
+    }
+
+    @Benchmark
+    public List<?> o_projectionQuery() {
+        return ops.projections();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.poc.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+
+/**
+ * 場景 G — 刪除一個 LineItem。每次 invocation 前建立一個新的 N items Aggregate，
+ * 量測範圍只有「載入 → 刪除 → 儲存」(JUnit 版把建立也算在內)。
+ */
+@State(Scope.Benchmark)
+public class RemoveLineItemBenchmark extends ApproachBenchmarkSupport {
+
+    @Param({"50"})
+    public int itemCount;
+
+    private UUID orderId;
+
+    @Setup(Level.Invocation)
+    public void seedFreshOrder() {
+        ops.deleteAll();
+        orderId = ops.seed(itemCount);
+    }
+
+    @Benchmark
+    public void g_removeLineItem() {
+        ops.removeFirstLineItem(orderId);
+    }
+}
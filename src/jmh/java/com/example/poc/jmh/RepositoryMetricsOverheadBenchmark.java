@@ -0,0 +1,189 @@
+package com.example.poc.jmh;
+
+import com.example.poc.domain.model.Order;
+import com.example.poc.domain.model.OrderAggregateSummary;
+import com.example.poc.domain.model.OrderStatus;
+import com.example.poc.domain.repository.OrderRepository;
+import com.example.poc.observability.RepositoryMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * {@code poc.metrics.enabled} 的固定成本：以記憶體內的 {@link OrderRepository} 隔離出 proxy + Timer (+ histogram)
+ * + aggregate size 的開銷，不需要 PostgreSQL。結果 (ns/op) 直接與 {@link SingleAggregateBenchmark} /
+ * {@link QueryBenchmark} 同一操作的 ms/op 相比即為相對開銷；{@code _contended} 以 8 個執行緒同時記錄同一個 Timer
+ * (需要至少 8 個 core，否則量到的是 context switch)。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class RepositoryMetricsOverheadBenchmark {
+
+    /** PROXY = 只有 class-based proxy 與一個直接 proceed 的 interceptor，區分 proxy 與 Micrometer 各自的成本 */
+    public enum Instrumentation { NONE, PROXY, METRICS, METRICS_HISTOGRAM }
+
+    @Param
+    public Instrumentation instrumentation;
+
+    @Param({"5", "200"})
+    public int itemCount;
+
+    private OrderRepository repository;
+    private Order order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        OrderRepository target = new InMemoryOrderRepository();
+        repository = switch (instrumentation) {
+            case NONE -> target;
+            case PROXY -> proxy(target);
+            case METRICS -> RepositoryMetrics.instrument(target, "in-memory", new SimpleMeterRegistry(), false);
+            case METRICS_HISTOGRAM -> RepositoryMetrics.instrument(target, "in-memory", new SimpleMeterRegistry(), true);
+        };
+        for (int i = 0; i < 100; i++) {
+            Order seeded = Order.create("customer-" + i);
+            for (int j = 0; j < itemCount; j++) {
+                seeded.addLineItem("P" + j, "Product " + j, 1, new BigDecimal("9.99"));
+            }
+            repository.save(seeded);
+            order = seeded;
+        }
+    }
+
+    @Benchmark
+    public Object findById() {
+        return repository.findById(order.getId());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object findById_contended() {
+        return repository.findById(order.getId());
+    }
+
+    /** 100 個 Order：一個 Timer 記錄 + 一次走訪 100 個 Order 的 aggregate size 累加 */
+    @Benchmark
+    public Object findAll() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public Object save() {
+        return repository.save(order);
+    }
+
+    private static OrderRepository proxy(OrderRepository target) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice((MethodInterceptor) MethodInvocation::proceed);
+        return (OrderRepository) proxyFactory.getProxy();
+    }
+
+    /** 只做查表的實作，讓量測結果幾乎全是 instrumentation 本身 */
+    public static class InMemoryOrderRepository implements OrderRepository {
+
+        private final Map<UUID, Order> orders = new ConcurrentHashMap<>();
+
+        @Override
+        public Order save(Order order) {
+            orders.put(order.getId(), order);
+            return order;
+        }
+
+        @Override
+        public Optional<Order> findById(UUID id) {
+            return Optional.ofNullable(orders.get(id));
+        }
+
+        @Override
+        public Optional<Order> findByIdWithLazyLineItems(UUID id) {
+            return findById(id);
+        }
+
+        @Override
+        public List<Order> findAll() {
+            return new ArrayList<>(orders.values());
+        }
+
+        @Override
+        public Optional<Integer> findVersionById(UUID id) {
+            return findById(id).map(Order::getVersion);
+        }
+
+        @Override
+        public void deleteAll() {
+            orders.clear();
+        }
+
+        @Override
+        public List<Order> findAllPaged(int page, int size) {
+            return findAll().stream().skip((long) page * size).limit(size).toList();
+        }
+
+        @Override
+        public OrderAggregateSummary computeAggregateSummary() {
+            List<Order> all = findAll();
+            BigDecimal totalAmount = all.stream()
+                    .map(Order::getTotalAmount)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            BigDecimal averageAmount = all.isEmpty()
+                    ? BigDecimal.ZERO
+                    : totalAmount.divide(BigDecimal.valueOf(all.size()), 2, RoundingMode.HALF_UP);
+            Map<String, Long> countByStatus = all.stream()
+                    .collect(Collectors.groupingBy(order -> order.getStatus().name(), Collectors.counting()));
+            return new OrderAggregateSummary(all.size(), totalAmount, averageAmount, countByStatus);
+        }
+
+        /** 與 DDD+JDBC 相同：以新狀態 reconstitute 每個符合的 Aggregate；沒有資料庫，version 在這裡遞增 */
+        @Override
+        public int bulkUpdateStatus(OrderStatus from, OrderStatus to) {
+            int updated = 0;
+            for (Order order : findAll()) {
+                if (order.getStatus() == from) {
+                    save(Order.reconstitute(order.getId(), order.getCustomerId(), to, order.getTotalAmount(),
+                            order.getLineItems(), order.getCreatedAt(), LocalDateTime.now(), order.getVersion() + 1));
+                    updated++;
+                }
+            }
+            return updated;
+        }
+
+        @Override
+        public List<Order> findByProductId(String productId) {
+            return findAll().stream()
+                    .filter(order -> order.getLineItems().stream()
+                            .anyMatch(item -> item.productId().equals(productId)))
+                    .toList();
+        }
+    }
+}
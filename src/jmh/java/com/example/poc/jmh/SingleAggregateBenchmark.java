@@ -0,0 +1,53 @@
+package com.example.poc.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+
+/**
+ * 場景 B / D / E / F — 對同一個已存在的 Aggregate 讀取或修改。E / F 每次都寫回相同的值 / 相同的狀態轉換，
+ * Aggregate 的大小在整個 trial 中不變。
+ */
+@State(Scope.Benchmark)
+public class SingleAggregateBenchmark extends ApproachBenchmarkSupport {
+
+    @Param({"50", "200"})
+    public int itemCount;
+
+    private UUID orderId;
+    private UUID firstItemId;
+
+    @Override
+    protected void seed() {
+        orderId = ops.seed(itemCount);
+        firstItemId = ops.firstLineItemId(orderId);
+    }
+
+    @Benchmark
+    public Object b_readFullAggregate() {
+        return ops.readFull(orderId);
+    }
+
+    @Benchmark
+    public Object d_readOrderOnly() {
+        return ops.readOrderOnly(orderId);
+    }
+
+    @Benchmark
+    public void e_updateLineItem() {
+        ops.updateLineItemQuantity(orderId, firstItemId, 99);
+    }
+
+    @Benchmark
+    public void f_updateStatusOnly() {
+        ops.submit(orderId);
+    }
+
+    @Benchmark
+    public void f_updateStatusOnlyLazy() {
+        ops.submitLazy(orderId);
+    }
+}
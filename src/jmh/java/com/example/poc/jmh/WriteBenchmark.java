@@ -0,0 +1,30 @@
+package com.example.poc.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.UUID;
+
+/**
+ * 場景 A — 寫入一個 N items 的 Aggregate。資料表在每個 iteration 結束後清空，deleteAll 不計入量測。
+ */
+@State(Scope.Benchmark)
+public class WriteBenchmark extends ApproachBenchmarkSupport {
+
+    @Param({"5", "50", "200"})
+    public int itemCount;
+
+    @Benchmark
+    public UUID a_write() {
+        return ops.write(itemCount);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearTables() {
+        ops.deleteAll();
+    }
+}
@@ -9,6 +9,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
@@ -38,6 +39,10 @@ public class JpaOrderLineItemEntity {
     @JoinColumn(name = "order_id", nullable = false)
     private JpaOrderEntity order;
 
+    /** Parent 的 created_at (partitioned schema 的 partition key)，由 {@link #setOrder} 帶入 */
+    @Column(name = "order_created_at", nullable = false, updatable = false)
+    private LocalDateTime orderCreatedAt;
+
     protected JpaOrderLineItemEntity() {
         // JPA requires a no-arg constructor
     }
@@ -108,5 +113,12 @@ public class JpaOrderLineItemEntity {
 
     public void setOrder(JpaOrderEntity order) {
         this.order = order;
+        if (order != null) {
+            this.orderCreatedAt = order.getCreatedAt();
+        }
+    }
+
+    public LocalDateTime getOrderCreatedAt() {
+        return orderCreatedAt;
     }
 }
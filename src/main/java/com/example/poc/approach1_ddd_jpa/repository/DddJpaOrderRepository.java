@@ -2,18 +2,24 @@ package com.example.poc.approach1_ddd_jpa.repository;
 
 import com.example.poc.approach1_ddd_jpa.entity.JpaOrderEntity;
 import com.example.poc.approach1_ddd_jpa.entity.JpaOrderLineItemEntity;
+import com.example.poc.cache.OrderChangePublisher;
 import com.example.poc.domain.model.Order;
 import com.example.poc.domain.model.OrderAggregateSummary;
 import com.example.poc.domain.model.OrderLineItem;
 import com.example.poc.domain.model.OrderStatus;
 import com.example.poc.domain.repository.OrderRepository;
+import com.example.poc.readmodel.OrderSummaryProjection;
+import com.example.poc.observability.MappingTimer;
 import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -34,18 +40,32 @@ public class DddJpaOrderRepository implements OrderRepository {
 
     private final SpringDataJpaOrderRepository springDataRepo;
     private final EntityManager entityManager;
+    private final OrderChangePublisher changePublisher;
+    private final OrderSummaryProjection summaryProjection;
 
-    public DddJpaOrderRepository(SpringDataJpaOrderRepository springDataRepo, EntityManager entityManager) {
+    public DddJpaOrderRepository(SpringDataJpaOrderRepository springDataRepo, EntityManager entityManager,
+                                 OrderChangePublisher changePublisher, OrderSummaryProjection summaryProjection) {
         this.springDataRepo = springDataRepo;
         this.entityManager = entityManager;
+        this.changePublisher = changePublisher;
+        this.summaryProjection = summaryProjection;
     }
 
     @Override
     public Order save(Order order) {
-        JpaOrderEntity entity = toEntity(order);
-        JpaOrderEntity saved = springDataRepo.save(entity);
-        entityManager.flush();
-        return toDomain(saved);
+        Order result;
+        if (!order.isLineItemsLoaded()) {
+            result = saveHeaderOnly(order);
+        } else {
+            JpaOrderEntity entity = toEntity(order);
+            JpaOrderEntity saved = springDataRepo.save(entity);
+            entityManager.flush();
+            result = toDomain(saved);
+        }
+        summaryProjection.orderSaved(result);
+        // 同一交易內 NOTIFY，commit 後才送出
+        changePublisher.orderChanged(result.getId(), result.getVersion());
+        return result;
     }
 
     @Override
@@ -55,6 +75,31 @@ public class DddJpaOrderRepository implements OrderRepository {
                 .map(this::toDomain);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Order> findByIdWithLazyLineItems(UUID id) {
+        return springDataRepo.findHeaderWithItemCount(id).stream()
+                .findFirst()
+                .map(row -> Order.reconstituteWithLazyLineItems(
+                        (UUID) row[0],
+                        (String) row[1],
+                        (OrderStatus) row[2],
+                        (BigDecimal) row[3],
+                        ((Number) row[7]).intValue(),
+                        () -> springDataRepo.findLineItemsByOrderId(id).stream()
+                                .map(this::toLineItemDomain)
+                                .toList(),
+                        (LocalDateTime) row[4],
+                        (LocalDateTime) row[5],
+                        (Integer) row[6]));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Integer> findVersionById(UUID id) {
+        return springDataRepo.findVersionById(id);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Order> findAll() {
@@ -66,6 +111,7 @@ public class DddJpaOrderRepository implements OrderRepository {
     @Override
     public void deleteAll() {
         springDataRepo.deleteAll();
+        summaryProjection.deleteAll();
     }
 
     @Override
@@ -97,6 +143,8 @@ public class DddJpaOrderRepository implements OrderRepository {
     public int bulkUpdateStatus(OrderStatus from, OrderStatus to) {
         int updated = springDataRepo.bulkUpdateStatus(from, to);
         entityManager.clear();
+        summaryProjection.statusChanged(from, to);
+        changePublisher.statusChanged(from);
         return updated;
     }
 
@@ -112,42 +160,70 @@ public class DddJpaOrderRepository implements OrderRepository {
                 .toList();
     }
 
+    /**
+     * LineItems 從未載入 → 不可能被修改：跳過 merge / orphanRemoval，
+     * 只以 JPQL UPDATE 寫表頭，並自行遞增 version 保留 Optimistic Locking 語意。
+     */
+    private Order saveHeaderOnly(Order order) {
+        int updated = springDataRepo.updateHeader(order.getId(), order.getStatus(),
+                order.getTotalAmount(), order.getUpdatedAt(), order.getVersion());
+        if (updated == 0) {
+            throw new ObjectOptimisticLockingFailureException(JpaOrderEntity.class, order.getId());
+        }
+        entityManager.clear();
+        return findByIdWithLazyLineItems(order.getId())
+                .orElseThrow(() -> new IllegalStateException(
+                        "Order not found after save: " + order.getId()));
+    }
+
     // ===== Anti-Corruption Layer: Mapping methods =====
 
     private JpaOrderEntity toEntity(Order order) {
-        JpaOrderEntity entity = new JpaOrderEntity(
-                order.getId(),
-                order.getCustomerId(),
-                order.getStatus(),
-                order.getTotalAmount(),
-                order.getCreatedAt(),
-                order.getUpdatedAt(),
-                order.getVersion()
-        );
-
-        for (OrderLineItem item : order.getLineItems()) {
-            JpaOrderLineItemEntity lineItemEntity = toLineItemEntity(item, entity);
-            entity.addLineItem(lineItemEntity);
+        long start = MappingTimer.start();
+        try {
+            JpaOrderEntity entity = new JpaOrderEntity(
+                    order.getId(),
+                    order.getCustomerId(),
+                    order.getStatus(),
+                    order.getTotalAmount(),
+                    order.getCreatedAt(),
+                    order.getUpdatedAt(),
+                    order.getVersion()
+            );
+
+            for (OrderLineItem item : order.getLineItems()) {
+                JpaOrderLineItemEntity lineItemEntity = toLineItemEntity(item, entity);
+                entity.addLineItem(lineItemEntity);
+            }
+
+            return entity;
+        } finally {
+            MappingTimer.stop(start);
         }
-
-        return entity;
     }
 
+    /** lineItems 尚未 fetch 時先在計時外載入，MappingTimer 與其他方案一樣只計對應，不含 SQL */
     private Order toDomain(JpaOrderEntity entity) {
-        var lineItems = entity.getLineItems().stream()
-                .map(this::toLineItemDomain)
-                .toList();
-
-        return Order.reconstitute(
-                entity.getId(),
-                entity.getCustomerId(),
-                entity.getStatus(),
-                entity.getTotalAmount(),
-                lineItems,
-                entity.getCreatedAt(),
-                entity.getUpdatedAt(),
-                entity.getVersion()
-        );
+        Hibernate.initialize(entity.getLineItems());
+        long start = MappingTimer.start();
+        try {
+            var lineItems = entity.getLineItems().stream()
+                    .map(this::toLineItemDomain)
+                    .toList();
+
+            return Order.reconstitute(
+                    entity.getId(),
+                    entity.getCustomerId(),
+                    entity.getStatus(),
+                    entity.getTotalAmount(),
+                    lineItems,
+                    entity.getCreatedAt(),
+                    entity.getUpdatedAt(),
+                    entity.getVersion()
+            );
+        } finally {
+            MappingTimer.stop(start);
+        }
     }
 
     private JpaOrderLineItemEntity toLineItemEntity(OrderLineItem item, JpaOrderEntity orderEntity) {
@@ -1,6 +1,7 @@
 package com.example.poc.approach1_ddd_jpa.repository;
 
 import com.example.poc.approach1_ddd_jpa.entity.JpaOrderEntity;
+import com.example.poc.approach1_ddd_jpa.entity.JpaOrderLineItemEntity;
 import com.example.poc.domain.model.OrderStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -9,6 +10,8 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,12 +21,33 @@ public interface SpringDataJpaOrderRepository extends JpaRepository<JpaOrderEnti
     @Query("SELECT o FROM JpaOrderEntity o LEFT JOIN FETCH o.lineItems WHERE o.id = :id")
     Optional<JpaOrderEntity> findByIdWithLineItems(@Param("id") UUID id);
 
+    /** 場景 F: 部分載入 — 表頭欄位 + item 數量 (不載入 LineItems) */
+    @Query("SELECT o.id, o.customerId, o.status, o.totalAmount, o.createdAt, o.updatedAt, o.version, SIZE(o.lineItems) " +
+           "FROM JpaOrderEntity o WHERE o.id = :id")
+    List<Object[]> findHeaderWithItemCount(@Param("id") UUID id);
+
+    /** 場景 F: 部分載入 — 延遲載入時才查 LineItems */
+    @Query("SELECT li FROM JpaOrderLineItemEntity li WHERE li.order.id = :orderId")
+    List<JpaOrderLineItemEntity> findLineItemsByOrderId(@Param("orderId") UUID orderId);
+
+    /** 場景 F: 只更新表頭 — 以 version 做 Optimistic Locking，回傳 0 表示版本衝突 */
+    @Modifying
+    @Query("UPDATE JpaOrderEntity o SET o.status = :status, o.totalAmount = :totalAmount, " +
+           "o.updatedAt = :updatedAt, o.version = o.version + 1 WHERE o.id = :id AND o.version = :version")
+    int updateHeader(@Param("id") UUID id, @Param("status") OrderStatus status,
+                     @Param("totalAmount") BigDecimal totalAmount, @Param("updatedAt") LocalDateTime updatedAt,
+                     @Param("version") int version);
+
+    @Query("SELECT o.version FROM JpaOrderEntity o WHERE o.id = :id")
+    Optional<Integer> findVersionById(@Param("id") UUID id);
+
     /** 場景 K: 分頁 (Spring Data Pageable) */
     Page<JpaOrderEntity> findAll(Pageable pageable);
 
     /** 場景 M: 批次狀態更新 — 回傳受影響行數 */
     @Modifying
-    @Query("UPDATE JpaOrderEntity o SET o.status = :to, o.updatedAt = CURRENT_TIMESTAMP WHERE o.status = :from")
+    @Query("UPDATE JpaOrderEntity o SET o.status = :to, o.updatedAt = CURRENT_TIMESTAMP, o.version = o.version + 1 " +
+           "WHERE o.status = :from")
     int bulkUpdateStatus(@Param("from") OrderStatus from, @Param("to") OrderStatus to);
 
     /** 場景 N: 跨 Aggregate 查詢 — 找包含特定 productId 的 Order IDs */
@@ -0,0 +1,37 @@
+package com.example.poc.approach2_ddd_jdbc.config;
+
+import com.example.poc.approach2_ddd_jdbc.repository.DddJdbcOrderRepository;
+import com.example.poc.approach2_ddd_jdbc.repository.DddJdbcOrderRepository.LoadStrategy;
+import com.example.poc.approach2_ddd_jdbc.repository.DddJdbcOrderRepository.WriteMode;
+import com.example.poc.cache.OrderChangePublisher;
+import com.example.poc.readmodel.OrderSummaryProjection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * {@code dddJdbcOrderRepository} 的變體 — 各只換掉一種 SQL 策略，讓 benchmark 在同一個 context 中比較：
+ * <ul>
+ *   <li>{@code dddJdbcUnnestOrderRepository}: 完整 Aggregate 以單一 UNNEST statement 寫入</li>
+ *   <li>{@code dddJdbcJsonAggOrderRepository}: 每個 Order 以一列 (表頭 + json_agg items) 讀取</li>
+ * </ul>
+ */
+@Configuration
+public class DddJdbcVariantConfiguration {
+
+    @Bean
+    public DddJdbcOrderRepository dddJdbcUnnestOrderRepository(JdbcTemplate jdbcTemplate,
+                                                               OrderChangePublisher changePublisher,
+                                                               OrderSummaryProjection summaryProjection) {
+        return new DddJdbcOrderRepository(jdbcTemplate, changePublisher, summaryProjection,
+                WriteMode.UNNEST, LoadStrategy.TWO_QUERY);
+    }
+
+    @Bean
+    public DddJdbcOrderRepository dddJdbcJsonAggOrderRepository(JdbcTemplate jdbcTemplate,
+                                                                OrderChangePublisher changePublisher,
+                                                                OrderSummaryProjection summaryProjection) {
+        return new DddJdbcOrderRepository(jdbcTemplate, changePublisher, summaryProjection,
+                WriteMode.BATCH, LoadStrategy.JSON_AGG);
+    }
+}
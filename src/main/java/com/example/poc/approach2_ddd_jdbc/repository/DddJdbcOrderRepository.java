@@ -1,20 +1,30 @@
 package com.example.poc.approach2_ddd_jdbc.repository;
 
+import com.example.poc.cache.OrderChangePublisher;
 import com.example.poc.domain.model.Order;
 import com.example.poc.domain.model.OrderAggregateSummary;
 import com.example.poc.domain.model.OrderLineItem;
 import com.example.poc.domain.model.OrderStatus;
 import com.example.poc.domain.repository.OrderRepository;
+import com.example.poc.readmodel.OrderSummaryProjection;
+import com.example.poc.observability.MappingTimer;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.json.JsonMapper;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,34 +34,99 @@ import java.util.UUID;
 @Repository("dddJdbcOrderRepository")
 public class DddJdbcOrderRepository implements OrderRepository {
 
+    /** 完整 Aggregate 的寫入方式 */
+    public enum WriteMode {
+        /** upsert 表頭 + DELETE items + JDBC batch INSERT (每個 item 一組參數) */
+        BATCH,
+        /** 表頭 upsert 與 items 寫入合成單一 CTE，items 以欄位陣列綁定後 unnest — 1 round trip、SQL 與 item 數無關 */
+        UNNEST
+    }
+
+    /** 完整 Aggregate 的讀取方式 (findById / findAll / findAllPaged / findByProductId) */
+    public enum LoadStrategy {
+        /** 表頭 1 條 SQL + 每個 Order 的 items 1 條 SQL — 清單查詢時為 N+1 */
+        TWO_QUERY,
+        /** 每個 Order 一列：表頭欄位 + json_agg(items) — 任何讀取都是 1 條 SQL，表頭不隨 item 數重複傳輸 */
+        JSON_AGG
+    }
+
+    /**
+     * {@link LoadStrategy#JSON_AGG} 的 SELECT (不含 WHERE)。items 編碼為位置陣列
+     * {@code [id, product_id, product_name, quantity, unit_price, subtotal]}，比 json_build_object 少傳欄位名稱；
+     * 沒有 items 時 {@code line_items} 為 NULL。
+     */
+    public static final String JSON_AGG_SELECT = """
+            SELECT o.id, o.customer_id, o.status, o.total_amount, o.created_at, o.updated_at, o.version,
+                   (SELECT json_agg(json_build_array(li.id, li.product_id, li.product_name,
+                                                     li.quantity, li.unit_price, li.subtotal))
+                    FROM order_line_items li
+                    WHERE li.order_id = o.id) AS line_items
+            FROM orders o
+            """;
+
     private final JdbcTemplate jdbcTemplate;
+    private final OrderChangePublisher changePublisher;
+    private final OrderSummaryProjection summaryProjection;
+    private final WriteMode writeMode;
+    private final LoadStrategy loadStrategy;
+
+    @Autowired
+    public DddJdbcOrderRepository(JdbcTemplate jdbcTemplate, OrderChangePublisher changePublisher,
+                                  OrderSummaryProjection summaryProjection) {
+        this(jdbcTemplate, changePublisher, summaryProjection, WriteMode.BATCH, LoadStrategy.TWO_QUERY);
+    }
 
-    public DddJdbcOrderRepository(JdbcTemplate jdbcTemplate) {
+    public DddJdbcOrderRepository(JdbcTemplate jdbcTemplate, OrderChangePublisher changePublisher,
+                                  OrderSummaryProjection summaryProjection,
+                                  WriteMode writeMode, LoadStrategy loadStrategy) {
         this.jdbcTemplate = jdbcTemplate;
+        this.changePublisher = changePublisher;
+        this.summaryProjection = summaryProjection;
+        this.writeMode = writeMode;
+        this.loadStrategy = loadStrategy;
     }
 
     // ── save (upsert Order + delete-then-insert line items) ──────────────
 
     @Override
+    @Transactional
     public Order save(Order order) {
+        Order saved = saveWithoutNotify(order);
+        changePublisher.orderChanged(saved.getId(), saved.getVersion());
+        return saved;
+    }
+
+    private Order saveWithoutNotify(Order order) {
+        if (writeMode == WriteMode.UNNEST && order.isLineItemsLoaded()) {
+            Order result = saveInSingleStatement(order);
+            summaryProjection.orderSaved(result);
+            return result;
+        }
         upsertOrder(order);
-        replaceLineItems(order.getId(), order.getLineItems());
-        return findById(order.getId())
-                .orElseThrow(() -> new IllegalStateException(
-                        "Order not found after save: " + order.getId()));
+        Optional<Order> saved;
+        if (!order.isLineItemsLoaded()) {
+            // LineItems 從未載入 → 不可能被修改，只需寫表頭
+            saved = findByIdWithLazyLineItems(order.getId());
+        } else {
+            replaceLineItems(order.getId(), order.getCreatedAt(), order.getLineItems());
+            saved = findById(order.getId());
+        }
+        Order result = saved.orElseThrow(() -> new IllegalStateException(
+                "Order not found after save: " + order.getId()));
+        summaryProjection.orderSaved(result);
+        return result;
     }
 
     private void upsertOrder(Order order) {
         String sql = """
                 INSERT INTO orders (id, customer_id, status, total_amount, created_at, updated_at, version)
                 VALUES (?, ?, ?, ?, ?, ?, ?)
-                ON CONFLICT (id) DO UPDATE SET
+                ON CONFLICT ON CONSTRAINT orders_pkey DO UPDATE SET
                     customer_id  = EXCLUDED.customer_id,
                     status       = EXCLUDED.status,
                     total_amount = EXCLUDED.total_amount,
-                    created_at   = EXCLUDED.created_at,
                     updated_at   = EXCLUDED.updated_at,
-                    version      = EXCLUDED.version
+                    version      = orders.version + 1
                 """;
 
         jdbcTemplate.update(sql,
@@ -64,7 +139,7 @@ public class DddJdbcOrderRepository implements OrderRepository {
                 order.getVersion());
     }
 
-    private void replaceLineItems(UUID orderId, List<OrderLineItem> lineItems) {
+    private void replaceLineItems(UUID orderId, LocalDateTime orderCreatedAt, List<OrderLineItem> lineItems) {
         jdbcTemplate.update("DELETE FROM order_line_items WHERE order_id = ?", orderId);
 
         if (lineItems.isEmpty()) {
@@ -72,56 +147,198 @@ public class DddJdbcOrderRepository implements OrderRepository {
         }
 
         String sql = """
-                INSERT INTO order_line_items (id, order_id, product_id, product_name, quantity, unit_price, subtotal)
-                VALUES (?, ?, ?, ?, ?, ?, ?)
+                INSERT INTO order_line_items (id, order_id, order_created_at, product_id, product_name,
+                                              quantity, unit_price, subtotal)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
                 """;
 
+        Timestamp createdAt = Timestamp.valueOf(orderCreatedAt);
         jdbcTemplate.batchUpdate(sql, lineItems, lineItems.size(),
                 (ps, item) -> {
                     ps.setObject(1, item.id());
                     ps.setObject(2, orderId);
-                    ps.setString(3, item.productId());
-                    ps.setString(4, item.productName());
-                    ps.setInt(5, item.quantity());
-                    ps.setBigDecimal(6, item.unitPrice());
-                    ps.setBigDecimal(7, item.subtotal());
+                    ps.setTimestamp(3, createdAt);
+                    ps.setString(4, item.productId());
+                    ps.setString(5, item.productName());
+                    ps.setInt(6, item.quantity());
+                    ps.setBigDecimal(7, item.unitPrice());
+                    ps.setBigDecimal(8, item.subtotal());
                 });
     }
 
+    /**
+     * 單一 statement 寫入整個 Aggregate：表頭 upsert、刪除已移除的 items、upsert 其餘 items。
+     * 三個 CTE 影響的列互不重疊，執行順序不影響結果；FK 檢查在 statement 結束時才進行。
+     * 保留下來的 item 以 {@code ON CONFLICT ... DO UPDATE} 更新，不必先刪除再插入。
+     * <p>
+     * Conflict target 用 constraint 名稱而非 {@code (id)}：partitioned schema 的主鍵必須包含 partition key
+     * ({@code (id, created_at)})，兩種 schema 的主鍵名稱相同，同一條 SQL 都適用。created_at 不可變，不在 SET 中。
+     */
+    private Order saveInSingleStatement(Order order) {
+        String sql = """
+                WITH header AS (
+                    INSERT INTO orders (id, customer_id, status, total_amount, created_at, updated_at, version)
+                    VALUES (?, ?, ?, ?, ?, ?, ?)
+                    ON CONFLICT ON CONSTRAINT orders_pkey DO UPDATE SET
+                        customer_id  = EXCLUDED.customer_id,
+                        status       = EXCLUDED.status,
+                        total_amount = EXCLUDED.total_amount,
+                        updated_at   = EXCLUDED.updated_at,
+                        version      = orders.version + 1
+                    RETURNING version
+                ), removed AS (
+                    DELETE FROM order_line_items WHERE order_id = ? AND id <> ALL(?::uuid[])
+                ), items AS (
+                    INSERT INTO order_line_items (id, order_id, order_created_at, product_id, product_name,
+                                                  quantity, unit_price, subtotal)
+                    SELECT i.id, ?, ?, i.product_id, i.product_name, i.quantity, i.unit_price, i.subtotal
+                    FROM unnest(?::uuid[], ?::varchar[], ?::varchar[], ?::int[], ?::numeric[], ?::numeric[])
+                         AS i(id, product_id, product_name, quantity, unit_price, subtotal)
+                    ON CONFLICT ON CONSTRAINT order_line_items_pkey DO UPDATE SET
+                        product_id   = EXCLUDED.product_id,
+                        product_name = EXCLUDED.product_name,
+                        quantity     = EXCLUDED.quantity,
+                        unit_price   = EXCLUDED.unit_price,
+                        subtotal     = EXCLUDED.subtotal
+                )
+                SELECT version FROM header
+                """;
+
+        List<OrderLineItem> lineItems = order.getLineItems();
+        UUID[] ids = lineItems.stream().map(OrderLineItem::id).toArray(UUID[]::new);
+        List<Integer> versions = jdbcTemplate.query(sql, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setObject(1, order.getId());
+            ps.setString(2, order.getCustomerId());
+            ps.setString(3, order.getStatus().name());
+            ps.setBigDecimal(4, order.getTotalAmount());
+            Timestamp createdAt = Timestamp.valueOf(order.getCreatedAt());
+            ps.setTimestamp(5, createdAt);
+            ps.setTimestamp(6, Timestamp.valueOf(order.getUpdatedAt()));
+            ps.setInt(7, order.getVersion());
+            ps.setObject(8, order.getId());
+            ps.setArray(9, connection.createArrayOf("uuid", ids));
+            ps.setObject(10, order.getId());
+            ps.setTimestamp(11, createdAt);
+            ps.setArray(12, connection.createArrayOf("uuid", ids));
+            ps.setArray(13, connection.createArrayOf("varchar",
+                    lineItems.stream().map(OrderLineItem::productId).toArray()));
+            ps.setArray(14, connection.createArrayOf("varchar",
+                    lineItems.stream().map(OrderLineItem::productName).toArray()));
+            ps.setArray(15, connection.createArrayOf("int4",
+                    lineItems.stream().map(OrderLineItem::quantity).toArray()));
+            ps.setArray(16, connection.createArrayOf("numeric",
+                    lineItems.stream().map(OrderLineItem::unitPrice).toArray()));
+            ps.setArray(17, connection.createArrayOf("numeric",
+                    lineItems.stream().map(OrderLineItem::subtotal).toArray()));
+        }, (rs, rowNum) -> rs.getInt("version"));
+
+        // 寫入的就是 Aggregate 目前的狀態，只有 version 由資料庫決定 → 不必再讀回
+        return Order.reconstitute(order.getId(), order.getCustomerId(), order.getStatus(), order.getTotalAmount(),
+                lineItems, order.getCreatedAt(), order.getUpdatedAt(), versions.getFirst());
+    }
+
     // ── findById (2 queries, hand-assembled via reconstitute) ────────────
 
     @Override
     public Optional<Order> findById(UUID id) {
+        if (loadStrategy == LoadStrategy.JSON_AGG) {
+            return jdbcTemplate.query(JSON_AGG_SELECT + "WHERE o.id = ?",
+                    (rs, rowNum) -> mapOrderWithJsonItems(rs), id).stream().findFirst();
+        }
         String orderSql = """
                 SELECT id, customer_id, status, total_amount, created_at, updated_at, version
                 FROM orders
                 WHERE id = ?
                 """;
 
-        List<Order> orders = jdbcTemplate.query(orderSql,
-                (rs, rowNum) -> mapOrder(rs, id),
+        List<OrderRow> rows = jdbcTemplate.query(orderSql,
+                (rs, rowNum) -> mapOrderRow(rs),
                 id);
 
-        if (orders.isEmpty()) {
+        if (rows.isEmpty()) {
             return Optional.empty();
         }
 
-        return Optional.of(orders.getFirst());
+        return Optional.of(loadOrder(rows.getFirst()));
     }
 
-    private Order mapOrder(ResultSet rs, UUID orderId) throws SQLException {
-        UUID id = rs.getObject("id", UUID.class);
-        String customerId = rs.getString("customer_id");
-        OrderStatus status = OrderStatus.valueOf(rs.getString("status"));
-        BigDecimal totalAmount = rs.getBigDecimal("total_amount");
-        LocalDateTime createdAt = rs.getTimestamp("created_at").toLocalDateTime();
-        LocalDateTime updatedAt = rs.getTimestamp("updated_at").toLocalDateTime();
-        int version = rs.getInt("version");
+    /**
+     * orders 的一列表頭。line items 在表頭的 ResultSet 關閉、連線歸還後才查詢 —
+     * 若在 RowMapper 內查詢，每次讀取會同時佔用兩條連線，並行數達到連線池大小時彼此等待到逾時。
+     */
+    private record OrderRow(UUID id, String customerId, OrderStatus status, BigDecimal totalAmount,
+                            LocalDateTime createdAt, LocalDateTime updatedAt, int version) {}
+
+    private OrderRow mapOrderRow(ResultSet rs) throws SQLException {
+        long start = MappingTimer.start();
+        try {
+            return new OrderRow(
+                    rs.getObject("id", UUID.class),
+                    rs.getString("customer_id"),
+                    OrderStatus.valueOf(rs.getString("status")),
+                    rs.getBigDecimal("total_amount"),
+                    rs.getTimestamp("created_at").toLocalDateTime(),
+                    rs.getTimestamp("updated_at").toLocalDateTime(),
+                    rs.getInt("version"));
+        } finally {
+            MappingTimer.stop(start);
+        }
+    }
 
-        List<OrderLineItem> lineItems = findLineItemsByOrderId(orderId);
+    /** MappingTimer 只計表頭欄位與 reconstitute，不含 line item 查詢 (N+1 的 SQL 另由 statements 反映) */
+    private Order loadOrder(OrderRow row) {
+        List<OrderLineItem> lineItems = findLineItemsByOrderId(row.id());
 
-        return Order.reconstitute(id, customerId, status, totalAmount,
-                lineItems, createdAt, updatedAt, version);
+        long start = MappingTimer.start();
+        try {
+            return Order.reconstitute(row.id(), row.customerId(), row.status(), row.totalAmount(),
+                    lineItems, row.createdAt(), row.updatedAt(), row.version());
+        } finally {
+            MappingTimer.stop(start);
+        }
+    }
+
+    private Order mapOrderWithJsonItems(ResultSet rs) throws SQLException {
+        long start = MappingTimer.start();
+        try {
+            return Order.reconstitute(
+                    rs.getObject("id", UUID.class),
+                    rs.getString("customer_id"),
+                    OrderStatus.valueOf(rs.getString("status")),
+                    rs.getBigDecimal("total_amount"),
+                    decodeLineItems(rs.getString("line_items")),
+                    rs.getTimestamp("created_at").toLocalDateTime(),
+                    rs.getTimestamp("updated_at").toLocalDateTime(),
+                    rs.getInt("version"));
+        } finally {
+            MappingTimer.stop(start);
+        }
+    }
+
+    /** 直接以 streaming parser 解碼 {@code [[id, productId, productName, quantity, unitPrice, subtotal], ...]}，不經過中間物件 */
+    private static List<OrderLineItem> decodeLineItems(String json) {
+        if (json == null) {
+            return List.of();
+        }
+        List<OrderLineItem> items = new ArrayList<>();
+        try (JsonParser parser = JsonMapper.shared().createParser(json)) {
+            parser.nextToken(); // outer START_ARRAY
+            while (parser.nextToken() == JsonToken.START_ARRAY) {
+                UUID id = UUID.fromString(parser.nextStringValue());
+                String productId = parser.nextStringValue();
+                String productName = parser.nextStringValue();
+                parser.nextToken();
+                int quantity = parser.getIntValue();
+                parser.nextToken();
+                BigDecimal unitPrice = parser.getDecimalValue();
+                parser.nextToken();
+                BigDecimal subtotal = parser.getDecimalValue();
+                parser.nextToken(); // END_ARRAY
+                items.add(new OrderLineItem(id, productId, productName, quantity, unitPrice, subtotal));
+            }
+        }
+        return items;
     }
 
     private List<OrderLineItem> findLineItemsByOrderId(UUID orderId) {
@@ -142,31 +359,76 @@ public class DddJdbcOrderRepository implements OrderRepository {
                 orderId);
     }
 
+    // ── findByIdWithLazyLineItems (1 query: header + item count) ────────
+
+    @Override
+    public Optional<Order> findByIdWithLazyLineItems(UUID id) {
+        String sql = """
+                SELECT o.id, o.customer_id, o.status, o.total_amount, o.created_at, o.updated_at, o.version,
+                       (SELECT COUNT(*) FROM order_line_items li WHERE li.order_id = o.id) AS item_count
+                FROM orders o
+                WHERE o.id = ?
+                """;
+
+        List<Order> orders = jdbcTemplate.query(sql,
+                (rs, rowNum) -> Order.reconstituteWithLazyLineItems(
+                        rs.getObject("id", UUID.class),
+                        rs.getString("customer_id"),
+                        OrderStatus.valueOf(rs.getString("status")),
+                        rs.getBigDecimal("total_amount"),
+                        rs.getInt("item_count"),
+                        () -> findLineItemsByOrderId(id),
+                        rs.getTimestamp("created_at").toLocalDateTime(),
+                        rs.getTimestamp("updated_at").toLocalDateTime(),
+                        rs.getInt("version")),
+                id);
+
+        if (orders.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(orders.getFirst());
+    }
+
+    // ── findVersionById (1 PK lookup, used for cache validation) ─────────
+
+    @Override
+    public Optional<Integer> findVersionById(UUID id) {
+        List<Integer> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM orders WHERE id = ?", Integer.class, id);
+        return versions.stream().findFirst();
+    }
+
     // ── findAll (loads every aggregate in full) ─────────────────────────
 
     @Override
     public List<Order> findAll() {
+        if (loadStrategy == LoadStrategy.JSON_AGG) {
+            return jdbcTemplate.query(JSON_AGG_SELECT, (rs, rowNum) -> mapOrderWithJsonItems(rs));
+        }
         String sql = "SELECT id, customer_id, status, total_amount, created_at, updated_at, version FROM orders";
-        return jdbcTemplate.query(sql, (rs, rowNum) -> {
-            UUID id = rs.getObject("id", UUID.class);
-            return mapOrder(rs, id);
-        });
+        return jdbcTemplate.query(sql, (rs, rowNum) -> mapOrderRow(rs)).stream()
+                .map(this::loadOrder)
+                .toList();
     }
 
     // ── findAllPaged (場景 K: 分頁查詢) ──────────────────────────────────
 
     @Override
     public List<Order> findAllPaged(int page, int size) {
+        if (loadStrategy == LoadStrategy.JSON_AGG) {
+            return jdbcTemplate.query(JSON_AGG_SELECT + "ORDER BY o.created_at LIMIT ? OFFSET ?",
+                    (rs, rowNum) -> mapOrderWithJsonItems(rs), size, page * size);
+        }
         String sql = """
                 SELECT id, customer_id, status, total_amount, created_at, updated_at, version
                 FROM orders
                 ORDER BY created_at
                 LIMIT ? OFFSET ?
                 """;
-        return jdbcTemplate.query(sql, (rs, rowNum) -> {
-            UUID id = rs.getObject("id", UUID.class);
-            return mapOrder(rs, id);
-        }, size, page * size);
+        return jdbcTemplate.query(sql, (rs, rowNum) -> mapOrderRow(rs), size, page * size).stream()
+                .map(this::loadOrder)
+                .toList();
     }
 
     // ── computeAggregateSummary (場景 L: 聚合報表) ──────────────────────
@@ -192,6 +454,7 @@ public class DddJdbcOrderRepository implements OrderRepository {
     // ── bulkUpdateStatus (場景 M: 批次狀態更新) ─────────────────────────
 
     @Override
+    @Transactional
     public int bulkUpdateStatus(OrderStatus from, OrderStatus to) {
         // DDD 方式：逐個載入 → 修改 → save (含 delete+insert items)
         List<Order> orders = findAll().stream()
@@ -202,8 +465,10 @@ public class DddJdbcOrderRepository implements OrderRepository {
             Order updated = Order.reconstitute(
                     order.getId(), order.getCustomerId(), to, order.getTotalAmount(),
                     order.getLineItems(), order.getCreatedAt(), LocalDateTime.now(), order.getVersion());
-            save(updated);
+            saveWithoutNotify(updated);
         }
+        // 一次 status 通知取代 N 筆 order 通知
+        changePublisher.statusChanged(from);
         return orders.size();
     }
 
@@ -211,6 +476,13 @@ public class DddJdbcOrderRepository implements OrderRepository {
 
     @Override
     public List<Order> findByProductId(String productId) {
+        if (loadStrategy == LoadStrategy.JSON_AGG) {
+            // 一次載入：篩選條件下推到 SQL，只傳回含該商品的 Aggregate
+            return jdbcTemplate.query(JSON_AGG_SELECT + """
+                            WHERE EXISTS (SELECT 1 FROM order_line_items p WHERE p.order_id = o.id AND p.product_id = ?)
+                            """,
+                    (rs, rowNum) -> mapOrderWithJsonItems(rs), productId);
+        }
         // DDD 方式：findAll() + Java filter
         return findAll().stream()
                 .filter(order -> order.getLineItems().stream()
@@ -221,8 +493,10 @@ public class DddJdbcOrderRepository implements OrderRepository {
     // ── deleteAll ────────────────────────────────────────────────────────
 
     @Override
+    @Transactional
     public void deleteAll() {
         jdbcTemplate.update("DELETE FROM order_line_items");
         jdbcTemplate.update("DELETE FROM orders");
+        summaryProjection.deleteAll();
     }
 }
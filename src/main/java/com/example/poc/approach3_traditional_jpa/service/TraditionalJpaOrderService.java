@@ -4,6 +4,7 @@ import com.example.poc.approach3_traditional_jpa.entity.TraditionalJpaLineItem;
 import com.example.poc.approach3_traditional_jpa.entity.TraditionalJpaOrder;
 import com.example.poc.approach3_traditional_jpa.repository.TraditionalJpaLineItemRepo;
 import com.example.poc.approach3_traditional_jpa.repository.TraditionalJpaOrderRepo;
+import com.example.poc.domain.model.LineItemInput;
 import com.example.poc.domain.model.OrderAggregateSummary;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -13,6 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -41,6 +43,27 @@ public class TraditionalJpaOrderService {
         return orderRepo.save(order);
     }
 
+    /** 表頭與 LineItems 在同一個交易建立 — total 由輸入直接算出，不需要 recalculateTotal 回查 */
+    public TraditionalJpaOrder createOrderWithItems(String customerId, List<LineItemInput> items) {
+        UUID orderId = UUID.randomUUID();
+        List<TraditionalJpaLineItem> lineItems = new ArrayList<>(items.size());
+        BigDecimal total = BigDecimal.ZERO;
+        for (LineItemInput input : items) {
+            BigDecimal subtotal = input.unitPrice().multiply(BigDecimal.valueOf(input.quantity()));
+            total = total.add(subtotal);
+            lineItems.add(new TraditionalJpaLineItem(
+                    UUID.randomUUID(), orderId, input.productId(), input.productName(),
+                    input.quantity(), input.unitPrice(), subtotal
+            ));
+        }
+        LocalDateTime now = LocalDateTime.now();
+        TraditionalJpaOrder order = orderRepo.save(new TraditionalJpaOrder(
+                orderId, customerId, "DRAFT", total, now, now
+        ));
+        lineItemRepo.saveAll(lineItems);
+        return order;
+    }
+
     public TraditionalJpaLineItem addLineItem(UUID orderId, String productId, String productName,
                                               int quantity, BigDecimal unitPrice) {
         BigDecimal subtotal = unitPrice.multiply(BigDecimal.valueOf(quantity));
@@ -55,6 +78,26 @@ public class TraditionalJpaOrderService {
         return saved;
     }
 
+    /** 批次加入 LineItems — saveAll (JDBC batch) 後只重算一次 total */
+    public List<TraditionalJpaLineItem> addLineItems(UUID orderId, List<LineItemInput> items) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        List<TraditionalJpaLineItem> lineItems = new ArrayList<>(items.size());
+        for (LineItemInput input : items) {
+            BigDecimal subtotal = input.unitPrice().multiply(BigDecimal.valueOf(input.quantity()));
+            lineItems.add(new TraditionalJpaLineItem(
+                    UUID.randomUUID(), orderId, input.productId(), input.productName(),
+                    input.quantity(), input.unitPrice(), subtotal
+            ));
+        }
+        List<TraditionalJpaLineItem> saved = lineItemRepo.saveAll(lineItems);
+
+        recalculateTotal(orderId);
+
+        return saved;
+    }
+
     public OrderWithItems findOrderWithItems(UUID orderId) {
         TraditionalJpaOrder order = orderRepo.findById(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
@@ -1,10 +1,12 @@
 package com.example.poc.approach4_traditional_jdbc.service;
 
+import com.example.poc.domain.model.LineItemInput;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.sql.Connection;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -33,17 +35,6 @@ public class TraditionalJdbcOrderService {
         this.jdbcTemplate = jdbcTemplate;
     }
 
-    // -----------------------------------------------------------------------
-    // Inner record for bulk-insert convenience method
-    // -----------------------------------------------------------------------
-
-    public record LineItemInput(
-            String productId,
-            String productName,
-            int quantity,
-            BigDecimal unitPrice
-    ) {}
-
     // -----------------------------------------------------------------------
     // Result records
     // -----------------------------------------------------------------------
@@ -196,6 +187,98 @@ public class TraditionalJdbcOrderService {
         return orderId;
     }
 
+    /**
+     * Same result as {@link #createOrderWithItems}, but written with a single
+     * statement: each line-item column is bound as one PostgreSQL array and
+     * expanded with {@code unnest}, and the header (including its total) is
+     * inserted from the same CTE. One round trip and one statement text no
+     * matter how many items there are.
+     *
+     * @param customerId the customer identifier
+     * @param items      the line items to add
+     * @return the generated order UUID
+     */
+    public UUID createOrderWithItemsUnnest(String customerId, List<LineItemInput> items) {
+        UUID orderId = UUID.randomUUID();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.update(
+                """
+                WITH items AS (
+                    SELECT * FROM unnest(?::uuid[], ?::varchar[], ?::varchar[], ?::int[], ?::numeric[])
+                        AS i(id, product_id, product_name, quantity, unit_price)
+                ), header AS (
+                    INSERT INTO jdbc_orders (id, customer_id, status, total_amount, created_at, updated_at, version)
+                    SELECT ?, ?, 'DRAFT', COALESCE(SUM(unit_price * quantity), 0), ?, ?, 0
+                    FROM items
+                )
+                INSERT INTO jdbc_order_line_items (id, order_id, product_id, product_name, quantity, unit_price, subtotal)
+                SELECT id, ?, product_id, product_name, quantity, unit_price, unit_price * quantity
+                FROM items
+                """,
+                ps -> {
+                    Connection connection = ps.getConnection();
+                    ps.setArray(1, connection.createArrayOf("uuid",
+                            items.stream().map(item -> UUID.randomUUID()).toArray()));
+                    ps.setArray(2, connection.createArrayOf("varchar",
+                            items.stream().map(LineItemInput::productId).toArray()));
+                    ps.setArray(3, connection.createArrayOf("varchar",
+                            items.stream().map(LineItemInput::productName).toArray()));
+                    ps.setArray(4, connection.createArrayOf("int4",
+                            items.stream().map(LineItemInput::quantity).toArray()));
+                    ps.setArray(5, connection.createArrayOf("numeric",
+                            items.stream().map(LineItemInput::unitPrice).toArray()));
+                    ps.setObject(6, orderId);
+                    ps.setString(7, customerId);
+                    ps.setTimestamp(8, now);
+                    ps.setTimestamp(9, now);
+                    ps.setObject(10, orderId);
+                }
+        );
+
+        return orderId;
+    }
+
+    /**
+     * Batch-insert line items into an existing order, then recalculate the
+     * total once on the database side.
+     *
+     * @param orderId the order to append to
+     * @param items   the line items to add
+     */
+    public void addLineItems(UUID orderId, List<LineItemInput> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(
+                """
+                INSERT INTO jdbc_order_line_items (id, order_id, product_id, product_name, quantity, unit_price, subtotal)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """,
+                items,
+                items.size(),
+                (ps, item) -> {
+                    BigDecimal subtotal = item.unitPrice().multiply(BigDecimal.valueOf(item.quantity()));
+                    ps.setObject(1, UUID.randomUUID());
+                    ps.setObject(2, orderId);
+                    ps.setString(3, item.productId());
+                    ps.setString(4, item.productName());
+                    ps.setInt(5, item.quantity());
+                    ps.setBigDecimal(6, item.unitPrice());
+                    ps.setBigDecimal(7, subtotal);
+                }
+        );
+
+        jdbcTemplate.update(
+                """
+                UPDATE jdbc_orders SET total_amount = (
+                    SELECT COALESCE(SUM(subtotal), 0) FROM jdbc_order_line_items WHERE order_id = ?
+                ), updated_at = ? WHERE id = ?
+                """,
+                orderId, Timestamp.valueOf(LocalDateTime.now()), orderId);
+    }
+
     public void updateLineItemQuantity(UUID lineItemId, int newQuantity, UUID orderId) {
         BigDecimal unitPrice = jdbcTemplate.queryForObject(
                 "SELECT unit_price FROM jdbc_order_line_items WHERE id = ?",
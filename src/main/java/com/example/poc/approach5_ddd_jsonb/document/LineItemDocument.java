@@ -0,0 +1,14 @@
+package com.example.poc.approach5_ddd_jsonb.document;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/** {@link OrderDocument#lineItems()} 的元素；{@code productId} 由 GIN index 的 @> 查詢使用 */
+public record LineItemDocument(
+        UUID id,
+        String productId,
+        String productName,
+        int quantity,
+        BigDecimal unitPrice,
+        BigDecimal subtotal
+) {}
@@ -0,0 +1,27 @@
+package com.example.poc.approach5_ddd_jsonb.document;
+
+import com.example.poc.domain.model.OrderStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 整個 Order Aggregate 的 JSONB 文件 ({@code jsonb_orders.doc})。
+ * <p>
+ * {@code status} / {@code totalAmount} / {@code lineItems} 的屬性名稱同時是 schema.sql 中
+ * generated column 與 GIN index 的來源，改名時兩邊要一起改。
+ * {@code lineItems == null} 表示只有表頭 (header patch / 延遲載入)，序列化時整個屬性省略。
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrderDocument(
+        UUID id,
+        String customerId,
+        OrderStatus status,
+        BigDecimal totalAmount,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        List<LineItemDocument> lineItems
+) {}
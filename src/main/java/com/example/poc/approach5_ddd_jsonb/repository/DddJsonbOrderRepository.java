@@ -0,0 +1,274 @@
+package com.example.poc.approach5_ddd_jsonb.repository;
+
+import com.example.poc.approach5_ddd_jsonb.document.LineItemDocument;
+import com.example.poc.approach5_ddd_jsonb.document.OrderDocument;
+import com.example.poc.domain.model.Order;
+import com.example.poc.domain.model.OrderAggregateSummary;
+import com.example.poc.domain.model.OrderLineItem;
+import com.example.poc.domain.model.OrderStatus;
+import com.example.poc.domain.repository.OrderRepository;
+import com.example.poc.observability.MappingTimer;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * DDD Repository implementation storing the whole aggregate as one JSONB document.
+ * <p>
+ * 一個 Order (含所有 LineItems) = {@code jsonb_orders} 的一列：save 是單一 upsert，
+ * findById / findAll / findAllPaged 都是單一 SELECT，沒有子表也就沒有 N+1。
+ * {@code version} 欄位以 {@code WHERE version = ?} 做 Optimistic Locking；
+ * {@code status} / {@code total_amount} / {@code item_count} 是 generated column，
+ * 讓報表與批次更新維持 set-based，{@code findByProductId} 走 {@code lineItems} 上的 GIN index。
+ */
+@Repository("dddJsonbOrderRepository")
+public class DddJsonbOrderRepository implements OrderRepository {
+
+    private static final String DOCUMENT_COLUMNS = "doc, version";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectReader documentReader;
+    private final ObjectReader lineItemsReader;
+    private final ObjectWriter jsonWriter;
+
+    private final RowMapper<Order> documentRowMapper;
+
+    public DddJsonbOrderRepository(JdbcTemplate jdbcTemplate, JsonMapper jsonMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.documentReader = jsonMapper.readerFor(OrderDocument.class);
+        this.lineItemsReader = jsonMapper.readerFor(new TypeReference<List<LineItemDocument>>() {});
+        this.jsonWriter = jsonMapper.writer();
+        this.documentRowMapper = (rs, rowNum) -> {
+            String doc = rs.getString("doc");
+            int version = rs.getInt("version");
+            long start = MappingTimer.start();
+            try {
+                return toDomain(documentReader.readValue(doc), version);
+            } finally {
+                MappingTimer.stop(start);
+            }
+        };
+    }
+
+    // ── save (1 upsert; WHERE version = ? 擋下過期的寫入) ─────────────────
+
+    @Override
+    @Transactional
+    public Order save(Order order) {
+        if (!order.isLineItemsLoaded()) {
+            return saveHeaderOnly(order);
+        }
+
+        String sql = """
+                INSERT INTO jsonb_orders (id, doc, created_at, version)
+                VALUES (?, ?::jsonb, ?, 0)
+                ON CONFLICT (id) DO UPDATE SET
+                    doc     = EXCLUDED.doc,
+                    version = jsonb_orders.version + 1
+                WHERE jsonb_orders.version = ?
+                RETURNING version
+                """;
+
+        List<Integer> versions = jdbcTemplate.queryForList(sql, Integer.class,
+                order.getId(),
+                jsonWriter.writeValueAsString(toDocument(order, true)),
+                Timestamp.valueOf(order.getCreatedAt()),
+                order.getVersion());
+        int version = versions.stream().findFirst()
+                .orElseThrow(() -> conflict(order));
+
+        // 文件就是剛寫入的內容，不需要再讀回
+        return Order.reconstitute(order.getId(), order.getCustomerId(), order.getStatus(),
+                order.getTotalAmount(), order.getLineItems(), order.getCreatedAt(), order.getUpdatedAt(), version);
+    }
+
+    /** LineItems 從未載入 → 不可能被修改，只 merge 表頭屬性 ({@code doc || patch})，lineItems 原封不動 */
+    private Order saveHeaderOnly(Order order) {
+        String sql = """
+                UPDATE jsonb_orders
+                SET doc = doc || ?::jsonb, version = version + 1
+                WHERE id = ? AND version = ?
+                RETURNING version
+                """;
+
+        List<Integer> versions = jdbcTemplate.queryForList(sql, Integer.class,
+                jsonWriter.writeValueAsString(toDocument(order, false)),
+                order.getId(),
+                order.getVersion());
+        int version = versions.stream().findFirst()
+                .orElseThrow(() -> conflict(order));
+
+        UUID id = order.getId();
+        return Order.reconstituteWithLazyLineItems(id, order.getCustomerId(), order.getStatus(),
+                order.getTotalAmount(), order.getLineItemCount(), () -> findLineItemsByOrderId(id),
+                order.getCreatedAt(), order.getUpdatedAt(), version);
+    }
+
+    private OptimisticLockingFailureException conflict(Order order) {
+        return new OptimisticLockingFailureException(
+                "Order " + order.getId() + " was modified concurrently (expected version " + order.getVersion() + ")");
+    }
+
+    // ── findById (1 query, whole document) ──────────────────────────────
+
+    @Override
+    public Optional<Order> findById(UUID id) {
+        List<Order> orders = jdbcTemplate.query(
+                "SELECT " + DOCUMENT_COLUMNS + " FROM jsonb_orders WHERE id = ?", documentRowMapper, id);
+        return orders.stream().findFirst();
+    }
+
+    // ── findByIdWithLazyLineItems (1 query: document minus lineItems) ───
+
+    @Override
+    public Optional<Order> findByIdWithLazyLineItems(UUID id) {
+        String sql = """
+                SELECT doc - 'lineItems' AS header, item_count, version
+                FROM jsonb_orders
+                WHERE id = ?
+                """;
+
+        List<Order> orders = jdbcTemplate.query(sql, (rs, rowNum) -> {
+            OrderDocument header = documentReader.readValue(rs.getString("header"));
+            return Order.reconstituteWithLazyLineItems(header.id(), header.customerId(), header.status(),
+                    header.totalAmount(), rs.getInt("item_count"), () -> findLineItemsByOrderId(id),
+                    header.createdAt(), header.updatedAt(), rs.getInt("version"));
+        }, id);
+        return orders.stream().findFirst();
+    }
+
+    private List<OrderLineItem> findLineItemsByOrderId(UUID orderId) {
+        List<String> json = jdbcTemplate.queryForList(
+                "SELECT doc->'lineItems' FROM jsonb_orders WHERE id = ?", String.class, orderId);
+        if (json.isEmpty()) {
+            return List.of();
+        }
+        List<LineItemDocument> items = lineItemsReader.readValue(json.getFirst());
+        return items.stream().map(this::toLineItemDomain).toList();
+    }
+
+    // ── findVersionById (1 PK lookup, used for cache validation) ─────────
+
+    @Override
+    public Optional<Integer> findVersionById(UUID id) {
+        List<Integer> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM jsonb_orders WHERE id = ?", Integer.class, id);
+        return versions.stream().findFirst();
+    }
+
+    // ── findAll (1 query, no N+1) ────────────────────────────────────────
+
+    @Override
+    public List<Order> findAll() {
+        return jdbcTemplate.query("SELECT " + DOCUMENT_COLUMNS + " FROM jsonb_orders", documentRowMapper);
+    }
+
+    // ── findAllPaged (場景 K: 分頁查詢) ──────────────────────────────────
+
+    @Override
+    public List<Order> findAllPaged(int page, int size) {
+        String sql = "SELECT " + DOCUMENT_COLUMNS + " FROM jsonb_orders ORDER BY created_at LIMIT ? OFFSET ?";
+        return jdbcTemplate.query(sql, documentRowMapper, size, page * size);
+    }
+
+    // ── computeAggregateSummary (場景 L: 聚合報表，generated columns) ────
+
+    @Override
+    public OrderAggregateSummary computeAggregateSummary() {
+        Map<String, Object> totals = jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS total_orders, COALESCE(SUM(total_amount), 0) AS total_amount FROM jsonb_orders");
+        long totalOrders = ((Number) totals.get("total_orders")).longValue();
+        BigDecimal totalAmount = (BigDecimal) totals.get("total_amount");
+        BigDecimal averageAmount = totalOrders > 0
+                ? totalAmount.divide(BigDecimal.valueOf(totalOrders), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+
+        Map<String, Long> countByStatus = new HashMap<>();
+        jdbcTemplate.query("SELECT status, COUNT(*) AS cnt FROM jsonb_orders GROUP BY status",
+                rs -> {
+                    countByStatus.put(rs.getString("status"), rs.getLong("cnt"));
+                });
+        return new OrderAggregateSummary(totalOrders, totalAmount, averageAmount, countByStatus);
+    }
+
+    // ── bulkUpdateStatus (場景 M: 批次狀態更新，1 SQL) ──────────────────
+
+    @Override
+    @Transactional
+    public int bulkUpdateStatus(OrderStatus from, OrderStatus to) {
+        // 與 DDD+JPA 的 JPQL bulk update 相同語意：只改 status/updatedAt，version + 1
+        String sql = """
+                UPDATE jsonb_orders
+                SET doc = doc || jsonb_build_object('status', ?::text, 'updatedAt', ?::text),
+                    version = version + 1
+                WHERE status = ?
+                """;
+        return jdbcTemplate.update(sql, to.name(), LocalDateTime.now().toString(), from.name());
+    }
+
+    // ── findByProductId (場景 N: GIN index containment) ─────────────────
+
+    @Override
+    public List<Order> findByProductId(String productId) {
+        String sql = "SELECT " + DOCUMENT_COLUMNS + " FROM jsonb_orders WHERE doc->'lineItems' @> ?::jsonb";
+        String containment = jsonWriter.writeValueAsString(List.of(Map.of("productId", productId)));
+        return jdbcTemplate.query(sql, documentRowMapper, containment);
+    }
+
+    // ── deleteAll ────────────────────────────────────────────────────────
+
+    @Override
+    public void deleteAll() {
+        jdbcTemplate.update("DELETE FROM jsonb_orders");
+    }
+
+    // ===== Mapping methods =====
+
+    private OrderDocument toDocument(Order order, boolean withLineItems) {
+        long start = MappingTimer.start();
+        try {
+            List<LineItemDocument> lineItems = withLineItems
+                    ? order.getLineItems().stream().map(this::toLineItemDocument).toList()
+                    : null;
+            return new OrderDocument(order.getId(), order.getCustomerId(), order.getStatus(), order.getTotalAmount(),
+                    order.getCreatedAt(), order.getUpdatedAt(), lineItems);
+        } finally {
+            MappingTimer.stop(start);
+        }
+    }
+
+    private LineItemDocument toLineItemDocument(OrderLineItem item) {
+        return new LineItemDocument(item.id(), item.productId(), item.productName(),
+                item.quantity(), item.unitPrice(), item.subtotal());
+    }
+
+    private Order toDomain(OrderDocument doc, int version) {
+        List<OrderLineItem> lineItems = doc.lineItems().stream()
+                .map(this::toLineItemDomain)
+                .toList();
+        return Order.reconstitute(doc.id(), doc.customerId(), doc.status(), doc.totalAmount(),
+                lineItems, doc.createdAt(), doc.updatedAt(), version);
+    }
+
+    private OrderLineItem toLineItemDomain(LineItemDocument doc) {
+        return new OrderLineItem(doc.id(), doc.productId(), doc.productName(),
+                doc.quantity(), doc.unitPrice(), doc.subtotal());
+    }
+}
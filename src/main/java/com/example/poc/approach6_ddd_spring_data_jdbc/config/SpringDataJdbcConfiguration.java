@@ -0,0 +1,30 @@
+package com.example.poc.approach6_ddd_spring_data_jdbc.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.relational.core.mapping.RelationalMappingContext;
+
+/**
+ * Spring Boot 沒有 single query loading 的設定屬性；在 mapping context 初始化前依
+ * {@code poc.spring-data-jdbc.single-query-loading} 開關。必須早於 DataAccessStrategy 建立，
+ * 因此用 BeanPostProcessor 而不是事後修改。
+ */
+@Configuration
+public class SpringDataJdbcConfiguration {
+
+    @Bean
+    static BeanPostProcessor singleQueryLoadingPostProcessor(
+            @Value("${poc.spring-data-jdbc.single-query-loading}") boolean enabled) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RelationalMappingContext mappingContext) {
+                    mappingContext.setSingleQueryLoadingEnabled(enabled);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.poc.approach6_ddd_spring_data_jdbc.entity;
+
+import com.example.poc.domain.model.OrderStatus;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.MappedCollection;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Spring Data JDBC aggregate root over the shared {@code orders} / {@code order_line_items} tables.
+ * <p>
+ * LineItems 是 {@link Set}：{@code order_line_items} 沒有排序欄位，{@code List} 需要 key column。
+ * 沒有延遲載入、沒有 dirty checking — 每次 update 都是「更新 root + 刪除並重新插入所有 items」。
+ */
+@Table("orders")
+public class SpringDataJdbcOrderEntity {
+
+    @Id
+    private final UUID id;
+
+    private final String customerId;
+
+    private final OrderStatus status;
+
+    private final BigDecimal totalAmount;
+
+    @MappedCollection(idColumn = "order_id")
+    private final Set<SpringDataJdbcOrderLineItemEntity> lineItems;
+
+    private final LocalDateTime createdAt;
+
+    private final LocalDateTime updatedAt;
+
+    /** 由 JdbcAggregateTemplate 在 insert / update 後回寫 */
+    @Version
+    private int version;
+
+    public SpringDataJdbcOrderEntity(UUID id, String customerId, OrderStatus status, BigDecimal totalAmount,
+                                     Set<SpringDataJdbcOrderLineItemEntity> lineItems,
+                                     LocalDateTime createdAt, LocalDateTime updatedAt, int version) {
+        this.id = id;
+        this.customerId = customerId;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.lineItems = lineItems;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
+
+    public UUID getId() { return id; }
+    public String getCustomerId() { return customerId; }
+    public OrderStatus getStatus() { return status; }
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public Set<SpringDataJdbcOrderLineItemEntity> getLineItems() { return lineItems; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public int getVersion() { return version; }
+}
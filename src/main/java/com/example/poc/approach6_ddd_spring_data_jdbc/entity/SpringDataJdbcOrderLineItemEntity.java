@@ -0,0 +1,23 @@
+package com.example.poc.approach6_ddd_spring_data_jdbc.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Child entity of {@link SpringDataJdbcOrderEntity}; {@code order_id} is the back-reference column.
+ * {@code orderCreatedAt} copies the root's created_at (partition key of the partitioned schema).
+ */
+@Table("order_line_items")
+public record SpringDataJdbcOrderLineItemEntity(
+        @Id UUID id,
+        LocalDateTime orderCreatedAt,
+        String productId,
+        String productName,
+        int quantity,
+        BigDecimal unitPrice,
+        BigDecimal subtotal
+) {}
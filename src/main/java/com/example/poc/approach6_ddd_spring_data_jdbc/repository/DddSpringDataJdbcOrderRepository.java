@@ -0,0 +1,259 @@
+package com.example.poc.approach6_ddd_spring_data_jdbc.repository;
+
+import com.example.poc.approach6_ddd_spring_data_jdbc.entity.SpringDataJdbcOrderEntity;
+import com.example.poc.approach6_ddd_spring_data_jdbc.entity.SpringDataJdbcOrderLineItemEntity;
+import com.example.poc.cache.OrderChangePublisher;
+import com.example.poc.domain.model.Order;
+import com.example.poc.domain.model.OrderAggregateSummary;
+import com.example.poc.domain.model.OrderLineItem;
+import com.example.poc.domain.model.OrderStatus;
+import com.example.poc.domain.repository.OrderRepository;
+import com.example.poc.readmodel.OrderSummaryProjection;
+import com.example.poc.observability.MappingTimer;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.jdbc.core.JdbcAggregateOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * DDD Repository implementation using Spring Data JDBC.
+ * <p>
+ * Spring Data JDBC 本身就以 Aggregate 為單位：只有 root 有 Repository、沒有延遲載入、沒有 dirty checking，
+ * update 一律「更新 root + 刪除並重新插入 children」。與 DDD+JPA 相同是 Mapping-based (ACL 映射)，
+ * 與 DDD+JDBC 相同是無 persistence context。
+ * <p>
+ * 開啟 single query loading ({@code poc.spring-data-jdbc.single-query-loading}) 時
+ * findById / findAll / findAllById 以單一 SQL 載入 root + items；分頁與跨 Aggregate 查詢
+ * 先取 ids 再走 findAllById，避免 {@code findAll(Pageable)} 的 N+1。
+ * 延遲載入 (場景 F) 不在 Spring Data JDBC 的模型內，改用 JdbcTemplate 查表頭與 item 數量。
+ */
+@Repository("dddSpringDataJdbcOrderRepository")
+@Transactional
+public class DddSpringDataJdbcOrderRepository implements OrderRepository {
+
+    private final SpringDataJdbcOrderEntityRepository springDataRepo;
+    private final JdbcAggregateOperations aggregateTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderChangePublisher changePublisher;
+    private final OrderSummaryProjection summaryProjection;
+
+    public DddSpringDataJdbcOrderRepository(SpringDataJdbcOrderEntityRepository springDataRepo,
+                                            JdbcAggregateOperations aggregateTemplate, JdbcTemplate jdbcTemplate,
+                                            OrderChangePublisher changePublisher,
+                                            OrderSummaryProjection summaryProjection) {
+        this.springDataRepo = springDataRepo;
+        this.aggregateTemplate = aggregateTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.changePublisher = changePublisher;
+        this.summaryProjection = summaryProjection;
+    }
+
+    @Override
+    public Order save(Order order) {
+        Order result;
+        if (!order.isLineItemsLoaded()) {
+            result = saveHeaderOnly(order);
+        } else {
+            // Domain Order 不帶「是否為新」的狀態 → 以 existsById 決定 insert / update (同 JPA merge 先 SELECT)
+            SpringDataJdbcOrderEntity entity = toEntity(order);
+            SpringDataJdbcOrderEntity saved = springDataRepo.existsById(order.getId())
+                    ? aggregateTemplate.update(entity)
+                    : aggregateTemplate.insert(entity);
+            result = toDomain(saved);
+        }
+        summaryProjection.orderSaved(result);
+        changePublisher.orderChanged(result.getId(), result.getVersion());
+        return result;
+    }
+
+    /** LineItems 從未載入 → 不可能被修改：只寫表頭，避免 Spring Data JDBC 重建所有 items */
+    private Order saveHeaderOnly(Order order) {
+        int updated = jdbcTemplate.update("""
+                UPDATE orders SET status = ?, total_amount = ?, updated_at = ?, version = version + 1
+                WHERE id = ? AND version = ?
+                """,
+                order.getStatus().name(),
+                order.getTotalAmount(),
+                Timestamp.valueOf(order.getUpdatedAt()),
+                order.getId(),
+                order.getVersion());
+        if (updated == 0) {
+            throw new OptimisticLockingFailureException(
+                    "Order " + order.getId() + " was modified concurrently (expected version " + order.getVersion() + ")");
+        }
+        return findByIdWithLazyLineItems(order.getId())
+                .orElseThrow(() -> new IllegalStateException("Order not found after save: " + order.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Order> findById(UUID id) {
+        return springDataRepo.findById(id).map(this::toDomain);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Order> findByIdWithLazyLineItems(UUID id) {
+        String sql = """
+                SELECT o.id, o.customer_id, o.status, o.total_amount, o.created_at, o.updated_at, o.version,
+                       (SELECT COUNT(*) FROM order_line_items li WHERE li.order_id = o.id) AS item_count
+                FROM orders o
+                WHERE o.id = ?
+                """;
+
+        List<Order> orders = jdbcTemplate.query(sql,
+                (rs, rowNum) -> Order.reconstituteWithLazyLineItems(
+                        rs.getObject("id", UUID.class),
+                        rs.getString("customer_id"),
+                        OrderStatus.valueOf(rs.getString("status")),
+                        rs.getBigDecimal("total_amount"),
+                        rs.getInt("item_count"),
+                        () -> findLineItemsByOrderId(id),
+                        rs.getTimestamp("created_at").toLocalDateTime(),
+                        rs.getTimestamp("updated_at").toLocalDateTime(),
+                        rs.getInt("version")),
+                id);
+        return orders.stream().findFirst();
+    }
+
+    /** 延遲載入只查明細，不重新載入表頭 */
+    private List<OrderLineItem> findLineItemsByOrderId(UUID orderId) {
+        String sql = """
+                SELECT id, product_id, product_name, quantity, unit_price, subtotal
+                FROM order_line_items
+                WHERE order_id = ?
+                """;
+
+        return jdbcTemplate.query(sql,
+                (rs, rowNum) -> new OrderLineItem(
+                        rs.getObject("id", UUID.class),
+                        rs.getString("product_id"),
+                        rs.getString("product_name"),
+                        rs.getInt("quantity"),
+                        rs.getBigDecimal("unit_price"),
+                        rs.getBigDecimal("subtotal")),
+                orderId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Integer> findVersionById(UUID id) {
+        return springDataRepo.findVersionById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Order> findAll() {
+        return springDataRepo.findAll().stream()
+                .map(this::toDomain)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Order> findAllPaged(int page, int size) {
+        // findAll(Pageable) 是 LIMIT 查詢，不走 single query loading → 先取該頁 ids 再 findAllById
+        return findAllByIdInOrder(springDataRepo.findPageIds(size, (long) page * size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderAggregateSummary computeAggregateSummary() {
+        // DDD 方式：載入所有 Aggregate 到記憶體，再用 Java Stream 計算
+        List<Order> allOrders = findAll();
+        long totalOrders = allOrders.size();
+        BigDecimal totalAmount = allOrders.stream()
+                .map(Order::getTotalAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal averageAmount = totalOrders > 0
+                ? totalAmount.divide(BigDecimal.valueOf(totalOrders), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+        Map<String, Long> countByStatus = new HashMap<>();
+        for (Order order : allOrders) {
+            countByStatus.merge(order.getStatus().name(), 1L, Long::sum);
+        }
+        return new OrderAggregateSummary(totalOrders, totalAmount, averageAmount, countByStatus);
+    }
+
+    @Override
+    public int bulkUpdateStatus(OrderStatus from, OrderStatus to) {
+        int updated = springDataRepo.bulkUpdateStatus(from.name(), to.name());
+        summaryProjection.statusChanged(from, to);
+        changePublisher.statusChanged(from);
+        return updated;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Order> findByProductId(String productId) {
+        // 先找 order IDs，再以 findAllById 一次載入 (single query loading 時為 1 SQL)
+        return findAllByIdInOrder(springDataRepo.findOrderIdsByProductId(productId));
+    }
+
+    @Override
+    public void deleteAll() {
+        springDataRepo.deleteAll();
+        summaryProjection.deleteAll();
+    }
+
+    /** findAllById 不保證回傳順序，依 ids 的順序重排 */
+    private List<Order> findAllByIdInOrder(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Integer> position = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            position.put(ids.get(i), i);
+        }
+        return springDataRepo.findAllById(ids).stream()
+                .sorted(Comparator.comparingInt(entity -> position.get(entity.getId())))
+                .map(this::toDomain)
+                .toList();
+    }
+
+    // ===== Anti-Corruption Layer: Mapping methods =====
+
+    private SpringDataJdbcOrderEntity toEntity(Order order) {
+        long start = MappingTimer.start();
+        try {
+            Set<SpringDataJdbcOrderLineItemEntity> lineItems = order.getLineItems().stream()
+                    .map(item -> new SpringDataJdbcOrderLineItemEntity(item.id(), order.getCreatedAt(), item.productId(),
+                            item.productName(), item.quantity(), item.unitPrice(), item.subtotal()))
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            return new SpringDataJdbcOrderEntity(order.getId(), order.getCustomerId(), order.getStatus(),
+                    order.getTotalAmount(), lineItems, order.getCreatedAt(), order.getUpdatedAt(), order.getVersion());
+        } finally {
+            MappingTimer.stop(start);
+        }
+    }
+
+    private Order toDomain(SpringDataJdbcOrderEntity entity) {
+        long start = MappingTimer.start();
+        try {
+            List<OrderLineItem> lineItems = entity.getLineItems().stream()
+                    .map(item -> new OrderLineItem(item.id(), item.productId(), item.productName(),
+                            item.quantity(), item.unitPrice(), item.subtotal()))
+                    .toList();
+            return Order.reconstitute(entity.getId(), entity.getCustomerId(), entity.getStatus(),
+                    entity.getTotalAmount(), lineItems, entity.getCreatedAt(), entity.getUpdatedAt(),
+                    entity.getVersion());
+        } finally {
+            MappingTimer.stop(start);
+        }
+    }
+}
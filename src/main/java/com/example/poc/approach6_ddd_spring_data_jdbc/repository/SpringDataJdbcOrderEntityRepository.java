@@ -0,0 +1,34 @@
+package com.example.poc.approach6_ddd_spring_data_jdbc.repository;
+
+import com.example.poc.approach6_ddd_spring_data_jdbc.entity.SpringDataJdbcOrderEntity;
+import org.springframework.data.jdbc.repository.query.Modifying;
+import org.springframework.data.jdbc.repository.query.Query;
+import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * findById / findAll / findAllById 在 single query loading 開啟時各是 1 條 SQL；
+ * 排序或 LIMIT 的查詢 (含 {@code findAll(Pageable)}) 不支援，會退回每個 root 再查一次 items。
+ */
+public interface SpringDataJdbcOrderEntityRepository extends ListCrudRepository<SpringDataJdbcOrderEntity, UUID> {
+
+    @Query("SELECT version FROM orders WHERE id = :id")
+    Optional<Integer> findVersionById(@Param("id") UUID id);
+
+    /** 場景 K: 只取該頁的 ids，再交給 findAllById 以單一 SQL 載入 Aggregate */
+    @Query("SELECT id FROM orders ORDER BY created_at LIMIT :limit OFFSET :offset")
+    List<UUID> findPageIds(@Param("limit") int limit, @Param("offset") long offset);
+
+    /** 場景 M: 批次狀態更新 — 回傳受影響行數 */
+    @Modifying
+    @Query("UPDATE orders SET status = :to, updated_at = LOCALTIMESTAMP, version = version + 1 WHERE status = :from")
+    int bulkUpdateStatus(@Param("from") String from, @Param("to") String to);
+
+    /** 場景 N: 跨 Aggregate 查詢 — 找包含特定 productId 的 Order IDs */
+    @Query("SELECT DISTINCT order_id FROM order_line_items WHERE product_id = :productId")
+    List<UUID> findOrderIdsByProductId(@Param("productId") String productId);
+}
@@ -0,0 +1,51 @@
+package com.example.poc.approach7_ddd_r2dbc.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.autoconfigure.JdbcConnectionDetails;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * R2DBC 連線池 — 由 JDBC 連線資訊推導 (含 Testcontainers {@code @ServiceConnection})，
+ * 讓 reactive 與 blocking 方案永遠連到同一個資料庫。
+ * <p>
+ * 刻意不註冊 {@code R2dbcTransactionManager} bean：Repository 內部自建 TransactionalOperator，
+ * 避免 {@code @Transactional} 遇到兩個 TransactionManager 而無法決定。
+ * <p>
+ * 連線池是 {@code ConnectionFactory}，註冊為 default candidate 會讓 {@code DataSourceAutoConfiguration}
+ * ({@code @ConditionalOnMissingBean(ConnectionFactory.class)}) 退場；因此設為 {@code defaultCandidate = false}，
+ * 注入點以 {@code @Qualifier} 指名。
+ */
+@Configuration
+public class R2dbcConfiguration {
+
+    @Bean(destroyMethod = "dispose", defaultCandidate = false)
+    public ConnectionPool r2dbcConnectionPool(JdbcConnectionDetails jdbcConnectionDetails,
+                                              @Value("${poc.r2dbc.pool.max-size}") int maxSize) {
+        String jdbcUrl = jdbcConnectionDetails.getJdbcUrl();
+        int query = jdbcUrl.indexOf('?');
+        // pgJDBC-only query parameters (e.g. loggerLevel) are not R2DBC options
+        String r2dbcUrl = "r2dbc:" + (query < 0 ? jdbcUrl : jdbcUrl.substring(0, query)).substring("jdbc:".length());
+
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(r2dbcUrl).mutate()
+                .option(ConnectionFactoryOptions.USER, jdbcConnectionDetails.getUsername());
+        if (jdbcConnectionDetails.getPassword() != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, jdbcConnectionDetails.getPassword());
+        }
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .initialSize(Math.min(maxSize, 2))
+                .maxSize(maxSize)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient r2dbcDatabaseClient(@Qualifier("r2dbcConnectionPool") ConnectionPool r2dbcConnectionPool) {
+        return DatabaseClient.create(r2dbcConnectionPool);
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.poc.approach7_ddd_r2dbc.repository;
+
+import com.example.poc.cache.OrderChangePublisher;
+import com.example.poc.domain.model.Order;
+import com.example.poc.domain.model.OrderLineItem;
+import com.example.poc.domain.model.OrderStatus;
+import com.example.poc.domain.repository.ReactiveOrderRepository;
+import com.example.poc.readmodel.OrderEventOutbox;
+import com.example.poc.readmodel.OrderSummaryProjection;
+import com.example.poc.readmodel.OrderSummaryProjection.ReadModelMode;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Statement;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * DDD Repository implementation using R2DBC (non-blocking).
+ * <p>
+ * 與 DDD+JDBC 相同的 schema 與手寫 SQL，差別在 I/O 模型：等待資料庫時不佔用執行緒，
+ * 少量 event-loop 執行緒即可服務大量並行請求，連線池大小才是真正的並行上限。
+ * <ul>
+ *   <li>findById / findAll: orders LEFT JOIN order_line_items 單一 SQL，依 order id 分組組裝 Aggregate</li>
+ *   <li>findAll: 以 fetch size 分批取列，下游需求 (backpressure) 決定讀取速度</li>
+ *   <li>save: upsert 表頭 + 刪除並重新插入 items，同一個 R2DBC 交易</li>
+ *   <li>bulkUpdateStatus: 單一 set-based UPDATE — 逐筆載入再 save 會抵銷 non-blocking 的好處</li>
+ * </ul>
+ * Read Model 與跨節點通知依 {@link OrderSummaryProjection#mode()} / {@link OrderChangePublisher#isEnabled()}
+ * 在同一交易中以 R2DBC 發出，語意與 blocking 方案相同。
+ */
+@Repository("dddR2dbcOrderRepository")
+public class DddR2dbcOrderRepository implements ReactiveOrderRepository {
+
+    /** findAll 每次向 server 要求的列數 (portal fetch)；未設定時 r2dbc-postgresql 一次取回全部結果 */
+    private static final int FETCH_SIZE = 500;
+
+    private static final String SELECT_AGGREGATE = """
+            SELECT o.id, o.customer_id, o.status, o.total_amount, o.created_at, o.updated_at, o.version,
+                   li.id AS item_id, li.product_id, li.product_name, li.quantity, li.unit_price, li.subtotal
+            FROM orders o
+            LEFT JOIN order_line_items li ON li.order_id = o.id
+            """;
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final OrderSummaryProjection summaryProjection;
+    private final OrderChangePublisher changePublisher;
+
+    public DddR2dbcOrderRepository(DatabaseClient r2dbcDatabaseClient,
+                                   @Qualifier("r2dbcConnectionPool") ConnectionPool r2dbcConnectionPool,
+                                   OrderSummaryProjection summaryProjection,
+                                   OrderChangePublisher changePublisher) {
+        this.databaseClient = r2dbcDatabaseClient;
+        this.transactionalOperator = TransactionalOperator.create(new R2dbcTransactionManager(r2dbcConnectionPool));
+        this.summaryProjection = summaryProjection;
+        this.changePublisher = changePublisher;
+    }
+
+    // ── save (upsert Order + delete-then-insert line items) ──────────────
+
+    @Override
+    public Mono<Order> save(Order order) {
+        // DDD+JDBC 同一條 upsert；RETURNING 省掉一次回查 version
+        Mono<Integer> upsert = databaseClient.sql("""
+                        INSERT INTO orders (id, customer_id, status, total_amount, created_at, updated_at, version)
+                        VALUES (:id, :customerId, :status, :totalAmount, :createdAt, :updatedAt, :version)
+                        ON CONFLICT ON CONSTRAINT orders_pkey DO UPDATE SET
+                            customer_id  = EXCLUDED.customer_id,
+                            status       = EXCLUDED.status,
+                            total_amount = EXCLUDED.total_amount,
+                            updated_at   = EXCLUDED.updated_at,
+                            version      = orders.version + 1
+                        RETURNING version
+                        """)
+                .bind("id", order.getId())
+                .bind("customerId", order.getCustomerId())
+                .bind("status", order.getStatus().name())
+                .bind("totalAmount", order.getTotalAmount())
+                .bind("createdAt", order.getCreatedAt())
+                .bind("updatedAt", order.getUpdatedAt())
+                .bind("version", order.getVersion())
+                .map(row -> row.get("version", Integer.class))
+                .one();
+
+        Mono<Order> saved = upsert.flatMap(version -> {
+            // LineItems 從未載入 → 不可能被修改，只需寫表頭；也不能在此觸發 (blocking) 延遲載入。
+            // 結果以 RETURNING 的 version 重建並保持 lazy，沿用呼叫端的 loader (items 未被這次 save 改動)
+            Mono<Order> written = order.isLineItemsLoaded()
+                    ? replaceLineItems(order.getId(), order.getCreatedAt(), order.getLineItems())
+                            .thenReturn(Order.reconstitute(order.getId(), order.getCustomerId(), order.getStatus(),
+                                    order.getTotalAmount(), order.getLineItems(), order.getCreatedAt(),
+                                    order.getUpdatedAt(), version))
+                    : Mono.just(Order.reconstituteWithLazyLineItems(order.getId(), order.getCustomerId(),
+                            order.getStatus(), order.getTotalAmount(), order.getLineItemCount(), order::getLineItems,
+                            order.getCreatedAt(), order.getUpdatedAt(), version));
+            return written.flatMap(result -> projectSaved(result)
+                    .then(notify(OrderChangePublisher.orderPayload(result.getId(), result.getVersion())))
+                    .thenReturn(result));
+        });
+        return saved.as(transactionalOperator::transactional);
+    }
+
+    private Mono<Void> replaceLineItems(UUID orderId, LocalDateTime orderCreatedAt, List<OrderLineItem> lineItems) {
+        Mono<Void> delete = databaseClient.sql("DELETE FROM order_line_items WHERE order_id = :orderId")
+                .bind("orderId", orderId)
+                .then();
+        if (lineItems.isEmpty()) {
+            return delete;
+        }
+        // DatabaseClient 沒有 batch API → 直接用 Statement.add()，所有 items 一次送出 (同 JDBC batchUpdate)
+        Mono<Void> insert = databaseClient.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement("""
+                    INSERT INTO order_line_items (id, order_id, order_created_at, product_id, product_name,
+                                                  quantity, unit_price, subtotal)
+                    VALUES ($1, $2, $3, $4, $5, $6, $7, $8)
+                    """);
+            for (int i = 0; i < lineItems.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                OrderLineItem item = lineItems.get(i);
+                statement.bind(0, item.id())
+                        .bind(1, orderId)
+                        .bind(2, orderCreatedAt)
+                        .bind(3, item.productId())
+                        .bind(4, item.productName())
+                        .bind(5, item.quantity())
+                        .bind(6, item.unitPrice())
+                        .bind(7, item.subtotal());
+            }
+            return Flux.from(statement.execute()).flatMap(result -> result.getRowsUpdated());
+        }).then();
+        return delete.then(insert);
+    }
+
+    // ── findById / findAll (1 query: JOIN, grouped by order id) ──────────
+
+    @Override
+    public Mono<Order> findById(UUID id) {
+        Flux<OrderRow> rows = databaseClient.sql(SELECT_AGGREGATE + "WHERE o.id = :id")
+                .bind("id", id)
+                .map(OrderRow::from)
+                .all();
+        return assemble(rows).next();
+    }
+
+    @Override
+    public Flux<Order> findAll() {
+        // ORDER BY o.id 讓同一 Aggregate 的列相鄰，才能邊讀邊組裝而不必先收齊全部結果
+        Flux<OrderRow> rows = databaseClient.sql(SELECT_AGGREGATE + "ORDER BY o.id")
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .map(OrderRow::from)
+                .all();
+        return assemble(rows);
+    }
+
+    /** 相鄰且 order id 相同的列組成一個 Aggregate */
+    private Flux<Order> assemble(Flux<OrderRow> rows) {
+        return rows.bufferUntilChanged(OrderRow::id)
+                .map(DddR2dbcOrderRepository::toDomain);
+    }
+
+    // ── bulkUpdateStatus (場景 M: 批次狀態更新) ─────────────────────────
+
+    @Override
+    public Mono<Integer> bulkUpdateStatus(OrderStatus from, OrderStatus to) {
+        Mono<Integer> updated = databaseClient.sql("""
+                        UPDATE orders SET status = :to, updated_at = LOCALTIMESTAMP, version = version + 1
+                        WHERE status = :from
+                        """)
+                .bind("to", to.name())
+                .bind("from", from.name())
+                .fetch()
+                .rowsUpdated()
+                .map(Long::intValue);
+
+        return updated
+                .flatMap(count -> projectStatusChanged(from, to)
+                        .then(notify(OrderChangePublisher.statusPayload(from)))
+                        .thenReturn(count))
+                .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        Mono<Void> delete = databaseClient.sql("DELETE FROM order_line_items").then()
+                .then(databaseClient.sql("DELETE FROM orders").then());
+        if (summaryProjection.mode() != ReadModelMode.OFF) {
+            delete = delete
+                    .then(databaseClient.sql("DELETE FROM order_events").then())
+                    .then(databaseClient.sql("DELETE FROM order_summary").then());
+        }
+        return delete.as(transactionalOperator::transactional);
+    }
+
+    // ── Read Model / cache notification (SQL shared with the blocking path) ──
+
+    private Mono<Void> projectSaved(Order saved) {
+        return switch (summaryProjection.mode()) {
+            case SYNC -> databaseClient.sql(OrderSummaryProjection.UPSERT_SQL)
+                    .bind("id", saved.getId())
+                    .bind("customerId", saved.getCustomerId())
+                    .bind("status", saved.getStatus().name())
+                    .bind("itemCount", saved.getLineItemCount())
+                    .bind("totalAmount", saved.getTotalAmount())
+                    .bind("createdAt", saved.getCreatedAt())
+                    .bind("version", saved.getVersion())
+                    .then();
+            case ASYNC -> databaseClient.sql(OrderEventOutbox.ORDER_CHANGED_SQL)
+                    .bind("type", OrderEventOutbox.ORDER_CHANGED)
+                    .bind("orderId", saved.getId())
+                    .bind("version", saved.getVersion())
+                    .then();
+            case OFF -> Mono.empty();
+        };
+    }
+
+    private Mono<Void> projectStatusChanged(OrderStatus from, OrderStatus to) {
+        return switch (summaryProjection.mode()) {
+            case SYNC -> databaseClient.sql(OrderSummaryProjection.STATUS_UPDATE_SQL)
+                    .bind("to", to.name())
+                    .bind("from", from.name())
+                    .then();
+            case ASYNC -> databaseClient.sql(OrderEventOutbox.STATUS_CHANGED_SQL)
+                    .bind("type", OrderEventOutbox.STATUS_CHANGED)
+                    .bind("from", from.name())
+                    .bind("to", to.name())
+                    .then();
+            case OFF -> Mono.empty();
+        };
+    }
+
+    private Mono<Void> notify(String payload) {
+        if (!changePublisher.isEnabled()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql("SELECT pg_notify(:channel, :payload)")
+                .bind("channel", OrderChangePublisher.CHANNEL)
+                .bind("payload", payload)
+                .then();
+    }
+
+    // ── Row → Aggregate mapping ─────────────────────────────────────────
+
+    /** One row of the JOIN; item fields are null for an order without line items. */
+    private record OrderRow(UUID id, String customerId, String status, BigDecimal totalAmount,
+                            LocalDateTime createdAt, LocalDateTime updatedAt, int version,
+                            OrderLineItem item) {
+
+        static OrderRow from(Readable row) {
+            UUID itemId = row.get("item_id", UUID.class);
+            OrderLineItem item = itemId == null ? null : new OrderLineItem(
+                    itemId,
+                    row.get("product_id", String.class),
+                    row.get("product_name", String.class),
+                    Objects.requireNonNull(row.get("quantity", Integer.class)),
+                    row.get("unit_price", BigDecimal.class),
+                    row.get("subtotal", BigDecimal.class));
+            return new OrderRow(
+                    row.get("id", UUID.class),
+                    row.get("customer_id", String.class),
+                    row.get("status", String.class),
+                    row.get("total_amount", BigDecimal.class),
+                    row.get("created_at", LocalDateTime.class),
+                    row.get("updated_at", LocalDateTime.class),
+                    Objects.requireNonNull(row.get("version", Integer.class)),
+                    item);
+        }
+    }
+
+    private static Order toDomain(List<OrderRow> rows) {
+        OrderRow header = rows.getFirst();
+        List<OrderLineItem> lineItems = rows.stream()
+                .map(OrderRow::item)
+                .filter(Objects::nonNull)
+                .toList();
+        return Order.reconstitute(header.id(), header.customerId(), OrderStatus.valueOf(header.status()),
+                header.totalAmount(), lineItems, header.createdAt(), header.updatedAt(), header.version());
+    }
+}
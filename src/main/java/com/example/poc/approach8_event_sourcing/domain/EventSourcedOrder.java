@@ -0,0 +1,191 @@
+package com.example.poc.approach8_event_sourcing.domain;
+
+import com.example.poc.approach8_event_sourcing.domain.OrderEvent.Confirmed;
+import com.example.poc.approach8_event_sourcing.domain.OrderEvent.LineItemAdded;
+import com.example.poc.approach8_event_sourcing.domain.OrderEvent.LineItemRemoved;
+import com.example.poc.approach8_event_sourcing.domain.OrderEvent.OrderCreated;
+import com.example.poc.approach8_event_sourcing.domain.OrderEvent.QuantityChanged;
+import com.example.poc.approach8_event_sourcing.domain.OrderEvent.Submitted;
+import com.example.poc.domain.model.Order;
+import com.example.poc.domain.model.OrderLineItem;
+import com.example.poc.domain.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Event-sourced 版本的 Order Aggregate — 與 {@link Order} 相同的業務規則，但狀態只由事件推導。
+ * <p>
+ * 每個 command 先驗證 invariant，再產生事件並透過 {@link #apply} 改變狀態；重播 (rehydrate) 走同一個
+ * {@link #apply}，因此新建與載入的 Aggregate 狀態必然一致。
+ * {@link #getVersion()} 是最後一個已持久化事件的 sequence，也是 Optimistic Locking 的 concurrency token。
+ */
+public class EventSourcedOrder {
+
+    private final UUID id;
+    private String customerId;
+    private OrderStatus status;
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+    private final Map<UUID, OrderLineItem> lineItems = new LinkedHashMap<>();
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private int version;
+    private final List<OrderEvent> uncommittedEvents = new ArrayList<>();
+
+    private EventSourcedOrder(UUID id) {
+        this.id = id;
+    }
+
+    public static EventSourcedOrder create(String customerId) {
+        EventSourcedOrder order = new EventSourcedOrder(UUID.randomUUID());
+        order.raise(new OrderCreated(customerId, LocalDateTime.now()));
+        return order;
+    }
+
+    /**
+     * 從 snapshot (可為 null) 開始，依序重播其後的事件。
+     *
+     * @param events snapshot 之後 (或從第 1 個) 連續的事件，依 sequence 排序
+     */
+    public static EventSourcedOrder rehydrate(UUID id, OrderSnapshot snapshot, List<OrderEvent> events) {
+        EventSourcedOrder order = new EventSourcedOrder(id);
+        if (snapshot != null) {
+            order.customerId = snapshot.customerId();
+            order.status = snapshot.status();
+            order.totalAmount = snapshot.totalAmount();
+            for (OrderLineItem item : snapshot.lineItems()) {
+                order.lineItems.put(item.id(), item);
+            }
+            order.createdAt = snapshot.createdAt();
+            order.updatedAt = snapshot.updatedAt();
+            order.version = snapshot.sequence();
+        }
+        for (OrderEvent event : events) {
+            order.apply(event);
+            order.version++;
+        }
+        return order;
+    }
+
+    // ── Commands (validate, then raise) ──────────────────────────────────
+
+    public void addLineItem(String productId, String productName, int quantity, BigDecimal unitPrice) {
+        // 借用 OrderLineItem 的驗證，事件只記錄輸入
+        OrderLineItem item = OrderLineItem.create(productId, productName, quantity, unitPrice);
+        raise(new LineItemAdded(item.id(), productId, productName, quantity, unitPrice, LocalDateTime.now()));
+    }
+
+    public void updateLineItemQuantity(UUID lineItemId, int newQuantity) {
+        if (newQuantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be greater than 0");
+        }
+        requireLineItem(lineItemId);
+        raise(new QuantityChanged(lineItemId, newQuantity, LocalDateTime.now()));
+    }
+
+    public void removeLineItem(UUID lineItemId) {
+        requireLineItem(lineItemId);
+        raise(new LineItemRemoved(lineItemId, LocalDateTime.now()));
+    }
+
+    public void submit() {
+        if (this.status != OrderStatus.DRAFT) {
+            throw new IllegalStateException("Can only submit DRAFT orders");
+        }
+        if (lineItems.isEmpty()) {
+            throw new IllegalStateException("Cannot submit order with no line items");
+        }
+        raise(new Submitted(LocalDateTime.now()));
+    }
+
+    public void confirm() {
+        if (this.status != OrderStatus.SUBMITTED) {
+            throw new IllegalStateException("Can only confirm SUBMITTED orders");
+        }
+        raise(new Confirmed(LocalDateTime.now()));
+    }
+
+    private void requireLineItem(UUID lineItemId) {
+        if (!lineItems.containsKey(lineItemId)) {
+            throw new IllegalArgumentException("LineItem not found: " + lineItemId);
+        }
+    }
+
+    private void raise(OrderEvent event) {
+        apply(event);
+        uncommittedEvents.add(event);
+    }
+
+    // ── State transitions (no validation: events are facts) ──────────────
+
+    private void apply(OrderEvent event) {
+        switch (event) {
+            case OrderCreated e -> {
+                this.customerId = e.customerId();
+                this.status = OrderStatus.DRAFT;
+                this.createdAt = e.occurredAt();
+            }
+            case LineItemAdded e -> lineItems.put(e.lineItemId(), new OrderLineItem(e.lineItemId(), e.productId(),
+                    e.productName(), e.quantity(), e.unitPrice(), e.unitPrice().multiply(BigDecimal.valueOf(e.quantity()))));
+            case QuantityChanged e -> lineItems.computeIfPresent(e.lineItemId(), (itemId, item) -> new OrderLineItem(
+                    item.id(), item.productId(), item.productName(), e.newQuantity(), item.unitPrice(),
+                    item.unitPrice().multiply(BigDecimal.valueOf(e.newQuantity()))));
+            case LineItemRemoved e -> lineItems.remove(e.lineItemId());
+            case Submitted e -> this.status = OrderStatus.SUBMITTED;
+            case Confirmed e -> this.status = OrderStatus.CONFIRMED;
+        }
+        if (event instanceof LineItemAdded || event instanceof QuantityChanged || event instanceof LineItemRemoved) {
+            recalculateTotal();
+        }
+        this.updatedAt = event.occurredAt();
+    }
+
+    private void recalculateTotal() {
+        this.totalAmount = lineItems.values().stream()
+                .map(OrderLineItem::subtotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    // ── Persistence support ──────────────────────────────────────────────
+
+    /** 尚未寫入 event store 的事件，sequence 依序為 {@code version + 1 ...} */
+    public List<OrderEvent> getUncommittedEvents() {
+        return Collections.unmodifiableList(uncommittedEvents);
+    }
+
+    /** Repository 寫入成功後呼叫：version 前進到最後一個事件的 sequence */
+    public void markCommitted() {
+        this.version += uncommittedEvents.size();
+        uncommittedEvents.clear();
+    }
+
+    public OrderSnapshot toSnapshot() {
+        if (!uncommittedEvents.isEmpty()) {
+            throw new IllegalStateException("Cannot snapshot an order with uncommitted events");
+        }
+        return new OrderSnapshot(version, customerId, status, totalAmount, List.copyOf(lineItems.values()),
+                createdAt, updatedAt);
+    }
+
+    /** 轉成 state-based 的 {@link Order}，讓查詢端與其他方案共用同一個模型 */
+    public Order toOrder() {
+        return Order.reconstitute(id, customerId, status, totalAmount, List.copyOf(lineItems.values()),
+                createdAt, updatedAt, version);
+    }
+
+    // Getters
+    public UUID getId() { return id; }
+    public String getCustomerId() { return customerId; }
+    public OrderStatus getStatus() { return status; }
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public List<OrderLineItem> getLineItems() { return List.copyOf(lineItems.values()); }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public int getVersion() { return version; }
+}
@@ -0,0 +1,43 @@
+package com.example.poc.approach8_event_sourcing.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Event-sourced Order 的 Domain Events — 只描述「發生了什麼」，不含衍生狀態 (subtotal、totalAmount 由重播計算)。
+ * <p>
+ * 事件存入 event store 時以 {@link #type()} 作為 {@code event_type}，payload 是事件本身的 JSON；
+ * 事件名稱一旦寫入就不可更改，新增欄位必須向後相容。
+ */
+public sealed interface OrderEvent {
+
+    LocalDateTime occurredAt();
+
+    default String type() {
+        return getClass().getSimpleName();
+    }
+
+    /** event_type → 反序列化目標類別 */
+    Map<String, Class<? extends OrderEvent>> TYPES = Map.of(
+            "OrderCreated", OrderCreated.class,
+            "LineItemAdded", LineItemAdded.class,
+            "QuantityChanged", QuantityChanged.class,
+            "LineItemRemoved", LineItemRemoved.class,
+            "Submitted", Submitted.class,
+            "Confirmed", Confirmed.class);
+
+    record OrderCreated(String customerId, LocalDateTime occurredAt) implements OrderEvent {}
+
+    record LineItemAdded(UUID lineItemId, String productId, String productName, int quantity,
+                         BigDecimal unitPrice, LocalDateTime occurredAt) implements OrderEvent {}
+
+    record QuantityChanged(UUID lineItemId, int newQuantity, LocalDateTime occurredAt) implements OrderEvent {}
+
+    record LineItemRemoved(UUID lineItemId, LocalDateTime occurredAt) implements OrderEvent {}
+
+    record Submitted(LocalDateTime occurredAt) implements OrderEvent {}
+
+    record Confirmed(LocalDateTime occurredAt) implements OrderEvent {}
+}
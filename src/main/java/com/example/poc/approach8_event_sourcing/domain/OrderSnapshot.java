@@ -0,0 +1,21 @@
+package com.example.poc.approach8_event_sourcing.domain;
+
+import com.example.poc.domain.model.OrderLineItem;
+import com.example.poc.domain.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 重播到 {@code sequence} 為止的完整狀態。載入時從 snapshot 開始，只重播 {@code sequence} 之後的事件。
+ */
+public record OrderSnapshot(
+        int sequence,
+        String customerId,
+        OrderStatus status,
+        BigDecimal totalAmount,
+        List<OrderLineItem> lineItems,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {}
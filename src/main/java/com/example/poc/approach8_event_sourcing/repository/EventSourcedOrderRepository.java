@@ -0,0 +1,184 @@
+package com.example.poc.approach8_event_sourcing.repository;
+
+import com.example.poc.approach8_event_sourcing.domain.EventSourcedOrder;
+import com.example.poc.approach8_event_sourcing.domain.OrderEvent;
+import com.example.poc.approach8_event_sourcing.domain.OrderSnapshot;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Event Store Repository for {@link EventSourcedOrder}.
+ * <p>
+ * 寫入只有 INSERT：{@code es_order_events} 的主鍵 {@code (aggregate_id, sequence)} 就是 concurrency token —
+ * 兩個交易從同一個 version 追加事件時，後到者撞到主鍵而失敗，熱門訂單也不會有 row-level UPDATE 爭用。
+ * <p>
+ * 每跨過 {@code poc.event-sourcing.snapshot-interval} 個事件，在同一交易中 upsert 一份 snapshot；
+ * {@link #findById} 只重播 snapshot 之後的事件 (最多 interval - 1 個)，{@link #findByIdFromEvents} 從頭重播。
+ * 不實作 {@code OrderRepository}：Aggregate 型別不同，且 event store 沒有 set-based 的批次更新。
+ */
+@Repository("eventSourcedOrderRepository")
+@Transactional
+public class EventSourcedOrderRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectReader snapshotReader;
+    private final ObjectWriter jsonWriter;
+    private final Map<String, ObjectReader> eventReaders = new HashMap<>();
+    private final int snapshotInterval;
+
+    public EventSourcedOrderRepository(JdbcTemplate jdbcTemplate, JsonMapper jsonMapper,
+                                       @Value("${poc.event-sourcing.snapshot-interval}") int snapshotInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotReader = jsonMapper.readerFor(OrderSnapshot.class);
+        this.jsonWriter = jsonMapper.writer();
+        OrderEvent.TYPES.forEach((type, eventClass) -> eventReaders.put(type, jsonMapper.readerFor(eventClass)));
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    // ── save (append-only; PK (aggregate_id, sequence) 擋下並發寫入) ────
+
+    public EventSourcedOrder save(EventSourcedOrder order) {
+        List<OrderEvent> events = order.getUncommittedEvents();
+        if (events.isEmpty()) {
+            return order;
+        }
+        int expectedVersion = order.getVersion();
+        try {
+            jdbcTemplate.batchUpdate("""
+                    INSERT INTO es_order_events (aggregate_id, sequence, event_type, payload, occurred_at)
+                    VALUES (?, ?, ?, ?::jsonb, ?)
+                    """,
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            OrderEvent event = events.get(i);
+                            ps.setObject(1, order.getId());
+                            ps.setInt(2, expectedVersion + 1 + i);
+                            ps.setString(3, event.type());
+                            ps.setString(4, jsonWriter.writeValueAsString(event));
+                            ps.setTimestamp(5, Timestamp.valueOf(event.occurredAt()));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return events.size();
+                        }
+                    });
+        } catch (DuplicateKeyException e) {
+            throw new OptimisticLockingFailureException(
+                    "Order " + order.getId() + " was modified concurrently (expected version " + expectedVersion + ")", e);
+        }
+        order.markCommitted();
+
+        if (snapshotInterval > 0 && order.getVersion() / snapshotInterval > expectedVersion / snapshotInterval) {
+            saveSnapshot(order);
+        }
+        return order;
+    }
+
+    private void saveSnapshot(EventSourcedOrder order) {
+        OrderSnapshot snapshot = order.toSnapshot();
+        jdbcTemplate.update("""
+                INSERT INTO es_order_snapshots (aggregate_id, sequence, state, created_at)
+                VALUES (?, ?, ?::jsonb, LOCALTIMESTAMP)
+                ON CONFLICT (aggregate_id) DO UPDATE SET
+                    sequence   = EXCLUDED.sequence,
+                    state      = EXCLUDED.state,
+                    created_at = EXCLUDED.created_at
+                WHERE es_order_snapshots.sequence < EXCLUDED.sequence
+                """,
+                order.getId(), snapshot.sequence(), jsonWriter.writeValueAsString(snapshot));
+    }
+
+    // ── findById (snapshot + tail) / findByIdFromEvents (full replay) ────
+
+    @Transactional(readOnly = true)
+    public Optional<EventSourcedOrder> findById(UUID id) {
+        OrderSnapshot snapshot = snapshotInterval > 0 ? findSnapshot(id) : null;
+        List<OrderEvent> tail = loadEvents(id, snapshot == null ? 0 : snapshot.sequence());
+        if (snapshot == null && tail.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(EventSourcedOrder.rehydrate(id, snapshot, tail));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<EventSourcedOrder> findByIdFromEvents(UUID id) {
+        List<OrderEvent> events = loadEvents(id, 0);
+        if (events.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(EventSourcedOrder.rehydrate(id, null, events));
+    }
+
+    /** 稽核用：完整事件歷史，依 sequence 排序 */
+    @Transactional(readOnly = true)
+    public List<StoredEvent> findHistory(UUID id) {
+        return jdbcTemplate.query("""
+                SELECT sequence, event_type, payload FROM es_order_events
+                WHERE aggregate_id = ?
+                ORDER BY sequence
+                """,
+                (rs, rowNum) -> new StoredEvent(rs.getInt("sequence"),
+                        readEvent(rs.getString("event_type"), rs.getString("payload"))),
+                id);
+    }
+
+    @Transactional(readOnly = true)
+    public int countEvents(UUID id) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM es_order_events WHERE aggregate_id = ?", Integer.class, id);
+        return count == null ? 0 : count;
+    }
+
+    public void deleteAll() {
+        jdbcTemplate.update("DELETE FROM es_order_snapshots");
+        jdbcTemplate.update("DELETE FROM es_order_events");
+    }
+
+    private OrderSnapshot findSnapshot(UUID id) {
+        List<OrderSnapshot> snapshots = jdbcTemplate.query(
+                "SELECT state FROM es_order_snapshots WHERE aggregate_id = ?",
+                (rs, rowNum) -> snapshotReader.<OrderSnapshot>readValue(rs.getString("state")),
+                id);
+        return snapshots.isEmpty() ? null : snapshots.getFirst();
+    }
+
+    private List<OrderEvent> loadEvents(UUID id, int afterSequence) {
+        return jdbcTemplate.query("""
+                SELECT event_type, payload FROM es_order_events
+                WHERE aggregate_id = ? AND sequence > ?
+                ORDER BY sequence
+                """,
+                (rs, rowNum) -> readEvent(rs.getString("event_type"), rs.getString("payload")),
+                id, afterSequence);
+    }
+
+    private OrderEvent readEvent(String type, String payload) {
+        ObjectReader reader = eventReaders.get(type);
+        if (reader == null) {
+            throw new IllegalStateException("Unknown event type: " + type);
+        }
+        return reader.readValue(payload);
+    }
+
+    public record StoredEvent(int sequence, OrderEvent event) {}
+}
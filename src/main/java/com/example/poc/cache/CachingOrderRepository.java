@@ -0,0 +1,230 @@
+package com.example.poc.cache;
+
+import com.example.poc.domain.model.Order;
+import com.example.poc.domain.model.OrderAggregateSummary;
+import com.example.poc.domain.model.OrderStatus;
+import com.example.poc.domain.repository.OrderRepository;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process Aggregate cache in front of any DDD {@link OrderRepository}.
+ * <p>
+ * 針對「少數熱門訂單被大量輪詢」的讀取分布：{@link #findById} 命中時只需一條
+ * {@code SELECT version} 驗證快取仍是最新版本，而不是重新載入表頭 + 全部 LineItems。
+ * <ul>
+ *   <li>Eviction: LRU (access order)，同時受 entry 數量與總權重限制；
+ *       權重 = 1 + LineItem 數量，大 Aggregate 佔用較多額度</li>
+ *   <li>Invalidation: {@code save} 移除該筆；{@code bulkUpdateStatus} 移除狀態相符的所有 entries</li>
+ *   <li>Isolation: Aggregate 是可變物件，放入與取出時都以 {@code reconstitute} 複製，
+ *       呼叫端的修改不會污染快取</li>
+ * </ul>
+ */
+public class CachingOrderRepository implements OrderRepository {
+
+    private final OrderRepository delegate;
+    private final int maxEntries;
+    private final long maxWeight;
+
+    private final LinkedHashMap<UUID, Order> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long currentWeight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder staleReads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CachingOrderRepository(OrderRepository delegate, int maxEntries, long maxWeight) {
+        if (maxEntries <= 0 || maxWeight <= 0) {
+            throw new IllegalArgumentException("maxEntries and maxWeight must be positive");
+        }
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+    }
+
+    // ── Cached reads ─────────────────────────────────────────────────────
+
+    @Override
+    public Optional<Order> findById(UUID id) {
+        Order cached = validatedEntry(id);
+        if (cached != null) {
+            return Optional.of(copyOf(cached));
+        }
+        Optional<Order> loaded = delegate.findById(id);
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    @Override
+    public Optional<Order> findByIdWithLazyLineItems(UUID id) {
+        // 已快取的完整 Aggregate 比延遲載入更便宜；未命中時不回填 (沒有 LineItems 可放)
+        Order cached = validatedEntry(id);
+        if (cached != null) {
+            return Optional.of(copyOf(cached));
+        }
+        return delegate.findByIdWithLazyLineItems(id);
+    }
+
+    private Order validatedEntry(UUID id) {
+        Order cached;
+        synchronized (this) {
+            cached = entries.get(id);
+        }
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        Optional<Integer> currentVersion = delegate.findVersionById(id);
+        if (currentVersion.isPresent() && currentVersion.get() == cached.getVersion()) {
+            hits.increment();
+            return cached;
+        }
+        staleReads.increment();
+        misses.increment();
+        invalidate(id);
+        return null;
+    }
+
+    // ── Writes: delegate, then invalidate ────────────────────────────────
+
+    @Override
+    public Order save(Order order) {
+        try {
+            return delegate.save(order);
+        } finally {
+            invalidate(order.getId());
+        }
+    }
+
+    @Override
+    public int bulkUpdateStatus(OrderStatus from, OrderStatus to) {
+        try {
+            return delegate.bulkUpdateStatus(from, to);
+        } finally {
+            invalidateByStatus(from);
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        try {
+            delegate.deleteAll();
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    // ── Pass-through (list / report queries are not cached) ──────────────
+
+    @Override
+    public Optional<Integer> findVersionById(UUID id) {
+        return delegate.findVersionById(id);
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Order> findAllPaged(int page, int size) {
+        return delegate.findAllPaged(page, size);
+    }
+
+    @Override
+    public OrderAggregateSummary computeAggregateSummary() {
+        return delegate.computeAggregateSummary();
+    }
+
+    @Override
+    public List<Order> findByProductId(String productId) {
+        return delegate.findByProductId(productId);
+    }
+
+    // ── Cache maintenance ────────────────────────────────────────────────
+
+    public synchronized boolean contains(UUID id) {
+        return entries.containsKey(id);
+    }
+
+    public synchronized void invalidate(UUID id) {
+        Order removed = entries.remove(id);
+        if (removed != null) {
+            currentWeight -= weightOf(removed);
+        }
+    }
+
+    public synchronized void invalidateByStatus(OrderStatus status) {
+        Iterator<Order> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Order order = it.next();
+            if (order.getStatus() == status) {
+                currentWeight -= weightOf(order);
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        currentWeight = 0;
+    }
+
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), staleReads.sum(), evictions.sum(),
+                entries.size(), currentWeight);
+    }
+
+    private synchronized void put(Order order) {
+        long weight = weightOf(order);
+        if (weight > maxWeight) {
+            return; // 單一 Aggregate 超過總額度，不快取
+        }
+        Order previous = entries.put(order.getId(), copyOf(order));
+        if (previous != null) {
+            currentWeight -= weightOf(previous);
+        }
+        currentWeight += weight;
+
+        Iterator<Map.Entry<UUID, Order>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || currentWeight > maxWeight) && eldest.hasNext()) {
+            Order evicted = eldest.next().getValue();
+            eldest.remove();
+            currentWeight -= weightOf(evicted);
+            evictions.increment();
+        }
+    }
+
+    private static long weightOf(Order order) {
+        return 1L + order.getLineItemCount();
+    }
+
+    private static Order copyOf(Order order) {
+        return Order.reconstitute(order.getId(), order.getCustomerId(), order.getStatus(),
+                order.getTotalAmount(), order.getLineItems(), order.getCreatedAt(),
+                order.getUpdatedAt(), order.getVersion());
+    }
+
+    /**
+     * @param hits       version 驗證通過、直接由快取回應的次數
+     * @param misses     需要向 delegate 載入的次數 (含 stale)
+     * @param staleReads 快取中有 entry 但 version 已過期的次數
+     * @param evictions  因數量或權重上限被淘汰的 entries
+     * @param size       目前 entries 數量
+     * @param weight     目前總權重 (Σ 1 + LineItem 數量)
+     */
+    public record CacheStats(long hits, long misses, long staleReads, long evictions, int size, long weight) {
+
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
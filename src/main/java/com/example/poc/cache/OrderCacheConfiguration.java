@@ -0,0 +1,30 @@
+package com.example.poc.cache;
+
+import com.example.poc.domain.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 為兩個 DDD Repository 各註冊一個快取 decorator，上限由 {@code poc.cache.*} 設定。
+ */
+@Configuration
+public class OrderCacheConfiguration {
+
+    @Bean
+    public CachingOrderRepository cachedDddJpaOrderRepository(
+            @Qualifier("approach1OrderRepository") OrderRepository delegate,
+            @Value("${poc.cache.max-entries}") int maxEntries,
+            @Value("${poc.cache.max-weight}") long maxWeight) {
+        return new CachingOrderRepository(delegate, maxEntries, maxWeight);
+    }
+
+    @Bean
+    public CachingOrderRepository cachedDddJdbcOrderRepository(
+            @Qualifier("dddJdbcOrderRepository") OrderRepository delegate,
+            @Value("${poc.cache.max-entries}") int maxEntries,
+            @Value("${poc.cache.max-weight}") long maxWeight) {
+        return new CachingOrderRepository(delegate, maxEntries, maxWeight);
+    }
+}
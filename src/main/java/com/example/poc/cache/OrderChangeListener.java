@@ -0,0 +1,166 @@
+package com.example.poc.cache;
+
+import com.example.poc.domain.model.OrderStatus;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code LISTEN order_changed} 並讓本機所有 {@link CachingOrderRepository} 失效。
+ * <p>
+ * 佔用一條專屬連線，在背景執行緒中以 {@code getNotifications(timeout)} 阻塞等待；
+ * 收到第一筆後再把已排隊的通知一次取完、去重後才套用，
+ * 所以 {@code bulkUpdateStatus} 或大量 save 只會造成一次 eviction 批次。
+ * 連線中斷期間可能遺漏通知，重新連線後會清空整個快取；無法解析的 payload 同樣清空整個快取，listener 繼續執行。
+ */
+@Component
+@ConditionalOnProperty(name = "poc.cache.notify.enabled", havingValue = "true")
+public class OrderChangeListener implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderChangeListener.class);
+
+    private static final int MAX_BATCH = 10_000;
+
+    private final DataSource dataSource;
+    private final List<CachingOrderRepository> caches;
+    private final int pollTimeoutMillis;
+
+    private final AtomicLong notificationsReceived = new AtomicLong();
+    private final AtomicLong batchesApplied = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public OrderChangeListener(DataSource dataSource, List<CachingOrderRepository> caches,
+                               @Value("${poc.cache.notify.poll-timeout-ms}") int pollTimeoutMillis) {
+        this.dataSource = dataSource;
+        this.caches = caches;
+        this.pollTimeoutMillis = pollTimeoutMillis;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform().daemon().name("order-change-listener").start(this::listenLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(pollTimeoutMillis * 2L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long notificationsReceived() {
+        return notificationsReceived.get();
+    }
+
+    public long batchesApplied() {
+        return batchesApplied.get();
+    }
+
+    // ── Listen loop ──────────────────────────────────────────────────────
+
+    private void listenLoop() {
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + OrderChangePublisher.CHANNEL);
+                }
+                if (reconnect) {
+                    // 斷線期間的通知已遺失，無法得知哪些 entries 過期
+                    caches.forEach(CachingOrderRepository::invalidateAll);
+                }
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] first = pg.getNotifications(pollTimeoutMillis);
+                    if (first == null || first.length == 0) {
+                        continue;
+                    }
+                    Set<String> payloads = drain(pg, first);
+                    try {
+                        apply(payloads);
+                    } catch (RuntimeException e) {
+                        // 無法解析的 payload (較新節點的狀態值、外部的 pg_notify)：不知道哪些 entries 過期
+                        log.warn("Unreadable order_changed notification, invalidating the whole cache", e);
+                        caches.forEach(CachingOrderRepository::invalidateAll);
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("order_changed listener connection lost, reconnecting", e);
+                reconnect = true;
+                sleepBeforeReconnect();
+            }
+        }
+    }
+
+    private Set<String> drain(PGConnection pg, PGNotification[] first) throws SQLException {
+        Set<String> payloads = new HashSet<>();
+        PGNotification[] batch = first;
+        while (batch != null && batch.length > 0 && payloads.size() < MAX_BATCH) {
+            for (PGNotification notification : batch) {
+                payloads.add(notification.getParameter());
+            }
+            notificationsReceived.addAndGet(batch.length);
+            batch = pg.getNotifications(); // non-blocking: only what is already queued
+        }
+        return payloads;
+    }
+
+    private void apply(Set<String> payloads) {
+        Set<UUID> ids = new HashSet<>();
+        Set<OrderStatus> statuses = new HashSet<>();
+        for (String payload : payloads) {
+            if (payload.startsWith(OrderChangePublisher.STATUS_PREFIX)) {
+                statuses.add(OrderStatus.valueOf(payload.substring(OrderChangePublisher.STATUS_PREFIX.length())));
+            } else {
+                int separator = payload.indexOf(':');
+                ids.add(UUID.fromString(separator < 0 ? payload : payload.substring(0, separator)));
+            }
+        }
+        for (CachingOrderRepository cache : caches) {
+            statuses.forEach(cache::invalidateByStatus);
+            ids.forEach(cache::invalidate);
+        }
+        batchesApplied.incrementAndGet();
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(pollTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
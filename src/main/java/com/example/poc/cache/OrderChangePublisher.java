@@ -0,0 +1,63 @@
+package com.example.poc.cache;
+
+import com.example.poc.domain.model.OrderStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * 以 PostgreSQL {@code NOTIFY order_changed} 廣播 Aggregate 變更，讓其他節點的快取失效。
+ * <p>
+ * {@code pg_notify} 在呼叫端的交易中執行，PostgreSQL 只在 commit 後才送出通知
+ * (rollback 則丟棄)，因此不會讓其他節點看到尚未提交的版本。
+ * <ul>
+ *   <li>單筆變更 payload: {@code <id>:<version>}</li>
+ *   <li>批次狀態更新 payload: {@code status:<FROM>} — 一次通知取代 N 筆，避免通知風暴</li>
+ * </ul>
+ * 預設關閉 ({@code poc.cache.notify.enabled=false})，避免在單節點 benchmark 中多一次 round trip。
+ */
+@Component
+public class OrderChangePublisher {
+
+    public static final String CHANNEL = "order_changed";
+    public static final String STATUS_PREFIX = "status:";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    public OrderChangePublisher(JdbcTemplate jdbcTemplate,
+                                @Value("${poc.cache.notify.enabled}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Payload for a single-aggregate change, for callers that issue {@code pg_notify} on their own connection */
+    public static String orderPayload(UUID orderId, int version) {
+        return orderId + ":" + version;
+    }
+
+    public static String statusPayload(OrderStatus from) {
+        return STATUS_PREFIX + from.name();
+    }
+
+    public void orderChanged(UUID orderId, int version) {
+        publish(orderPayload(orderId, version));
+    }
+
+    public void statusChanged(OrderStatus from) {
+        publish(statusPayload(from));
+    }
+
+    private void publish(String payload) {
+        if (!enabled) {
+            return;
+        }
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> { }, CHANNEL, payload);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.poc.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * 批次新增明細的輸入 — Traditional JPA / JDBC 的 bulk insert 共用
+ *
+ * @param productId   商品代碼
+ * @param productName 商品名稱
+ * @param quantity    數量
+ * @param unitPrice   單價
+ */
+public record LineItemInput(
+        String productId,
+        String productName,
+        int quantity,
+        BigDecimal unitPrice
+) {
+}
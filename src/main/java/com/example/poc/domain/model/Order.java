@@ -4,8 +4,11 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 public class Order {
 
@@ -13,7 +16,9 @@ public class Order {
     private String customerId;
     private OrderStatus status;
     private BigDecimal totalAmount;
-    private final List<OrderLineItem> lineItems;
+    private List<OrderLineItem> lineItems;
+    private Supplier<List<OrderLineItem>> lineItemLoader;
+    private final int lineItemCount;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private int version;
@@ -25,6 +30,21 @@ public class Order {
         this.status = status;
         this.totalAmount = totalAmount;
         this.lineItems = new ArrayList<>(lineItems);
+        this.lineItemCount = lineItems.size();
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
+
+    private Order(UUID id, String customerId, OrderStatus status, BigDecimal totalAmount,
+                  int lineItemCount, Supplier<List<OrderLineItem>> lineItemLoader,
+                  LocalDateTime createdAt, LocalDateTime updatedAt, int version) {
+        this.id = id;
+        this.customerId = customerId;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.lineItemCount = lineItemCount;
+        this.lineItemLoader = lineItemLoader;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
         this.version = version;
@@ -42,9 +62,51 @@ public class Order {
         return new Order(id, customerId, status, totalAmount, lineItems, createdAt, updatedAt, version);
     }
 
+    /**
+     * 部分載入 — 只重建表頭與 item 數量，LineItems 在第一次存取時才由 loader 載入。
+     * 只依賴 status / item 數量的操作 (submit, confirm) 不會觸發載入。
+     */
+    public static Order reconstituteWithLazyLineItems(UUID id, String customerId, OrderStatus status,
+                                                      BigDecimal totalAmount, int lineItemCount,
+                                                      Supplier<List<OrderLineItem>> lineItemLoader,
+                                                      LocalDateTime createdAt, LocalDateTime updatedAt,
+                                                      int version) {
+        return new Order(id, customerId, status, totalAmount, lineItemCount, lineItemLoader,
+                createdAt, updatedAt, version);
+    }
+
     public void addLineItem(String productId, String productName, int quantity, BigDecimal unitPrice) {
         OrderLineItem item = OrderLineItem.create(productId, productName, quantity, unitPrice);
-        this.lineItems.add(item);
+        lineItems().add(item);
+        recalculateTotal();
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * 批次加入 LineItems — 先驗證整批，再一次附加，totalAmount 與 updatedAt 只重算一次。
+     * 任何一筆不合法時整批拒絕，Aggregate 狀態不變。
+     */
+    public void addLineItems(List<OrderLineItem> items) {
+        if (items == null) {
+            throw new IllegalArgumentException("LineItems must not be null");
+        }
+        if (items.isEmpty()) {
+            return;
+        }
+        List<OrderLineItem> current = lineItems();
+        Set<UUID> ids = new HashSet<>(current.size() + items.size());
+        for (OrderLineItem existing : current) {
+            ids.add(existing.id());
+        }
+        for (OrderLineItem item : items) {
+            if (item == null) {
+                throw new IllegalArgumentException("LineItem must not be null");
+            }
+            if (!ids.add(item.id())) {
+                throw new IllegalArgumentException("Duplicate LineItem: " + item.id());
+            }
+        }
+        current.addAll(items);
         recalculateTotal();
         this.updatedAt = LocalDateTime.now();
     }
@@ -53,7 +115,7 @@ public class Order {
         if (this.status != OrderStatus.DRAFT) {
             throw new IllegalStateException("Can only submit DRAFT orders");
         }
-        if (this.lineItems.isEmpty()) {
+        if (getLineItemCount() == 0) {
             throw new IllegalStateException("Cannot submit order with no line items");
         }
         this.status = OrderStatus.SUBMITTED;
@@ -74,7 +136,7 @@ public class Order {
         }
         List<OrderLineItem> updated = new ArrayList<>();
         boolean found = false;
-        for (OrderLineItem item : this.lineItems) {
+        for (OrderLineItem item : lineItems()) {
             if (item.id().equals(lineItemId)) {
                 found = true;
                 updated.add(new OrderLineItem(
@@ -89,14 +151,13 @@ public class Order {
         if (!found) {
             throw new IllegalArgumentException("LineItem not found: " + lineItemId);
         }
-        this.lineItems.clear();
-        this.lineItems.addAll(updated);
+        this.lineItems = updated;
         recalculateTotal();
         this.updatedAt = LocalDateTime.now();
     }
 
     public void removeLineItem(UUID lineItemId) {
-        boolean removed = this.lineItems.removeIf(item -> item.id().equals(lineItemId));
+        boolean removed = lineItems().removeIf(item -> item.id().equals(lineItemId));
         if (!removed) {
             throw new IllegalArgumentException("LineItem not found: " + lineItemId);
         }
@@ -104,8 +165,16 @@ public class Order {
         this.updatedAt = LocalDateTime.now();
     }
 
+    private List<OrderLineItem> lineItems() {
+        if (lineItems == null) {
+            lineItems = new ArrayList<>(lineItemLoader.get());
+            lineItemLoader = null;
+        }
+        return lineItems;
+    }
+
     private void recalculateTotal() {
-        this.totalAmount = lineItems.stream()
+        this.totalAmount = lineItems().stream()
                 .map(OrderLineItem::subtotal)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
@@ -115,7 +184,10 @@ public class Order {
     public String getCustomerId() { return customerId; }
     public OrderStatus getStatus() { return status; }
     public BigDecimal getTotalAmount() { return totalAmount; }
-    public List<OrderLineItem> getLineItems() { return Collections.unmodifiableList(lineItems); }
+    public List<OrderLineItem> getLineItems() { return Collections.unmodifiableList(lineItems()); }
+    public int getLineItemCount() { return lineItems != null ? lineItems.size() : lineItemCount; }
+    /** false 表示 LineItems 尚未載入 (因此也未被修改)，Repository 儲存時可略過子表 */
+    public boolean isLineItemsLoaded() { return lineItems != null; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public int getVersion() { return version; }
@@ -11,7 +11,13 @@ import java.util.UUID;
 public interface OrderRepository {
     Order save(Order order);
     Optional<Order> findById(UUID id);
+
+    /** 場景 F: 部分載入 — 只讀表頭與 item 數量，LineItems 延遲到第一次存取才載入 */
+    Optional<Order> findByIdWithLazyLineItems(UUID id);
     List<Order> findAll();
+
+    /** 只讀 version 欄位 — 供快取做 version-validated read，不存在時回傳 empty */
+    Optional<Integer> findVersionById(UUID id);
     void deleteAll();
 
     /** 場景 K: 分頁查詢 — 回傳指定頁的 Orders */
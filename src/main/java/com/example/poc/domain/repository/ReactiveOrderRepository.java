@@ -0,0 +1,23 @@
+package com.example.poc.domain.repository;
+
+import com.example.poc.domain.model.Order;
+import com.example.poc.domain.model.OrderStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking 版本的 {@link OrderRepository} — 同樣以 Aggregate 為單位存取，呼叫端不佔用執行緒等待 I/O。
+ */
+public interface ReactiveOrderRepository {
+    Mono<Order> save(Order order);
+    Mono<Order> findById(UUID id);
+
+    /** 串流全部 Orders — 依下游需求 (backpressure) 分批從資料庫取列，不需把全部結果放進記憶體 */
+    Flux<Order> findAll();
+    Mono<Void> deleteAll();
+
+    /** 場景 M: 批次狀態更新 — 將指定狀態的所有訂單改為新狀態 */
+    Mono<Integer> bulkUpdateStatus(OrderStatus from, OrderStatus to);
+}
@@ -0,0 +1,88 @@
+package com.example.poc.indexing;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * {@code schema-index-pack.sql} 的開關 — covering / partial / BRIN 索引，對應 benchmark 場景 K / M / N 的查詢形狀。
+ * <p>
+ * {@code poc.index-pack.enabled=true} (profile {@code indexed}) 時在 schema 初始化後套用；
+ * benchmark 也可在同一個 context 中 {@link #drop()} / {@link #apply()}，比較同一份資料有無索引的差異。
+ * 與 table layout 無關：在 partitioned schema 上建立的是 partitioned index。
+ */
+@Component
+@DependsOnDatabaseInitialization
+public class OrderIndexPack implements InitializingBean {
+
+    private static final Resource SCRIPT = new ClassPathResource("schema-index-pack.sql");
+    private static final Pattern INDEX_NAME = Pattern.compile("CREATE INDEX IF NOT EXISTS (\\w+)");
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final List<String> indexNames;
+
+    public OrderIndexPack(DataSource dataSource, JdbcTemplate jdbcTemplate,
+                          @Value("${poc.index-pack.enabled}") boolean enabled) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.indexNames = readIndexNames();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (enabled) {
+            apply();
+        }
+    }
+
+    /** 建立所有索引 (IF NOT EXISTS，冪等) 並更新統計資訊 */
+    public void apply() {
+        new ResourceDatabasePopulator(SCRIPT).execute(dataSource);
+        analyze();
+    }
+
+    public void drop() {
+        for (String name : indexNames) {
+            jdbcTemplate.execute("DROP INDEX IF EXISTS " + name);
+        }
+        analyze();
+    }
+
+    public boolean isApplied() {
+        return indexNames.stream().allMatch(name -> Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name)));
+    }
+
+    public List<String> indexNames() {
+        return indexNames;
+    }
+
+    private void analyze() {
+        jdbcTemplate.execute("ANALYZE orders, order_line_items, trad_orders, trad_order_line_items, "
+                + "jdbc_orders, jdbc_order_line_items");
+    }
+
+    private static List<String> readIndexNames() {
+        try {
+            String script = SCRIPT.getContentAsString(StandardCharsets.UTF_8);
+            return INDEX_NAME.matcher(script).results().map(match -> match.group(1)).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + SCRIPT, e);
+        }
+    }
+}
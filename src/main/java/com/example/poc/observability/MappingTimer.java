@@ -0,0 +1,49 @@
+package com.example.poc.observability;
+
+/**
+ * Repository 對應層 (toEntity / toDomain / reconstitute) 的計時，累計到目前執行緒上正在進行的
+ * {@link RepositoryOperationEvent}；沒有進行中的 event 時 {@link #start()} 回傳 0，{@link #stop(long)} 不做任何事。
+ * <pre>
+ * long start = MappingTimer.start();
+ * try { ... } finally { MappingTimer.stop(start); }
+ * </pre>
+ */
+public final class MappingTimer {
+
+    private static final ThreadLocal<long[]> CURRENT = new ThreadLocal<>();
+
+    private MappingTimer() {
+    }
+
+    public static long start() {
+        return CURRENT.get() == null ? 0 : System.nanoTime();
+    }
+
+    public static void stop(long start) {
+        if (start != 0) {
+            long[] elapsed = CURRENT.get();
+            if (elapsed != null) {
+                elapsed[0] += System.nanoTime() - start;
+            }
+        }
+    }
+
+    /** 開始一段累計，回傳外層的累計 (巢狀呼叫，例如 cache decorator → repository) */
+    static long[] open() {
+        long[] outer = CURRENT.get();
+        CURRENT.set(new long[1]);
+        return outer;
+    }
+
+    /** 結束目前的累計並回傳其值；內層的時間也併入外層 */
+    static long close(long[] outer) {
+        long elapsed = CURRENT.get()[0];
+        if (outer == null) {
+            CURRENT.remove();
+        } else {
+            outer[0] += elapsed;
+            CURRENT.set(outer);
+        }
+        return elapsed;
+    }
+}
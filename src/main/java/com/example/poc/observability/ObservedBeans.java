@@ -0,0 +1,59 @@
+package com.example.poc.observability;
+
+import com.example.poc.approach3_traditional_jpa.service.TraditionalJpaOrderService;
+import com.example.poc.approach4_traditional_jdbc.service.TraditionalJdbcOrderService;
+import com.example.poc.domain.repository.OrderRepository;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.util.Map;
+
+/**
+ * JFR event 與 metrics 共用的 bean 判斷與包裝：哪些 bean 要觀測、在報表中叫什麼名字，以及如何加上 advice。
+ */
+final class ObservedBeans {
+
+    /** bean 名稱 → benchmark 報表中的方案名稱；未列出的 bean 以 bean 名稱標示 */
+    private static final Map<String, String> APPROACHES = Map.of(
+            "approach1OrderRepository", "DDD+JPA",
+            "dddJdbcOrderRepository", "DDD+JDBC",
+            "dddJdbcUnnestOrderRepository", "DDD+JDBC (UNNEST)",
+            "dddJdbcJsonAggOrderRepository", "DDD+JDBC (JSON_AGG)",
+            "dddJsonbOrderRepository", "DDD+JSONB",
+            "dddSpringDataJdbcOrderRepository", "DDD+SpringJDBC",
+            "cachedDddJpaOrderRepository", "DDD+JPA (cached)",
+            "cachedDddJdbcOrderRepository", "DDD+JDBC (cached)");
+
+    private ObservedBeans() {
+    }
+
+    /** 每個 OrderRepository 與兩個 Traditional service 的方案名稱；其他 bean 回傳 null */
+    static String approachOf(Object bean, String beanName) {
+        if (bean instanceof TraditionalJpaOrderService) {
+            return "Trad+JPA";
+        }
+        if (bean instanceof TraditionalJdbcOrderService) {
+            return "Trad+JDBC";
+        }
+        if (bean instanceof OrderRepository) {
+            return APPROACHES.getOrDefault(beanName, beanName);
+        }
+        return null;
+    }
+
+    /**
+     * 已被代理 (例如 {@code @Transactional}) 的 bean 直接在最外層加上 advice，因此量到的時間包含交易 commit；
+     * 其餘 bean 以 class-based proxy 包裝，注入點的型別不變。
+     */
+    static Object advise(Object bean, Advisor advisor) {
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvisor(0, advisor);
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(advisor);
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+}
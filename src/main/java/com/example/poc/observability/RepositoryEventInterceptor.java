@@ -0,0 +1,73 @@
+package com.example.poc.observability;
+
+import com.example.poc.domain.model.Order;
+import com.example.poc.sqlstats.SqlStatementCounter;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 以 {@link RepositoryOperationEvent} 包住每個方法呼叫。order id 取自第一個 UUID / Order 參數或回傳值，
+ * item 數取自 Order (參數或回傳值) 或 items 集合參數。JFR 未錄製此 event 時只多一次 {@code isEnabled()} 判斷。
+ */
+class RepositoryEventInterceptor implements MethodInterceptor {
+
+    private final String approach;
+    private final SqlStatementCounter counter;
+
+    RepositoryEventInterceptor(String approach, SqlStatementCounter counter) {
+        this.approach = approach;
+        this.counter = counter;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        if (!event.isEnabled() || invocation.getMethod().getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        long statementsBefore = counter == null ? 0 : counter.currentThread().statements();
+        long[] outer = MappingTimer.open();
+        event.begin();
+        Object result = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } finally {
+            event.end();
+            event.mappingTime = MappingTimer.close(outer);
+            if (event.shouldCommit()) {
+                event.approach = approach;
+                event.operation = invocation.getMethod().getName();
+                event.statements = counter == null ? -1 : counter.currentThread().statements() - statementsBefore;
+                describe(event, invocation.getArguments(), result);
+                event.commit();
+            }
+        }
+    }
+
+    private static void describe(RepositoryOperationEvent event, Object[] arguments, Object result) {
+        for (Object argument : arguments) {
+            if (argument instanceof UUID id && event.orderId == null) {
+                event.orderId = id.toString();
+            } else if (argument instanceof Order order) {
+                event.orderId = String.valueOf(order.getId());
+                event.itemCount = order.getLineItemCount();
+            } else if (argument instanceof Collection<?> items) {
+                event.itemCount = items.size();
+            }
+        }
+        Object value = result instanceof Optional<?> optional ? optional.orElse(null) : result;
+        if (value instanceof Order order) {
+            event.orderId = String.valueOf(order.getId());
+            event.itemCount = order.getLineItemCount();
+        } else if (value instanceof UUID id && event.orderId == null) {
+            event.orderId = id.toString();
+        } else if (value instanceof Collection<?> collection) {
+            event.resultSize = collection.size();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.poc.observability;
+
+import com.example.poc.domain.repository.OrderRepository;
+import com.example.poc.sqlstats.SqlStatementCounter;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * {@code poc.jfr.enabled=true} 時，每個 {@link OrderRepository} 與兩個 Traditional service 的方法呼叫都發出
+ * {@link RepositoryOperationEvent}。已被代理 (例如 {@code @Transactional}) 的 bean 直接在最外層加上 advice，
+ * 因此 event 的時間包含交易 commit；其餘 bean 以 class-based proxy 包裝，注入點的型別不變。
+ * 錄製：{@code -XX:StartFlightRecording} 或 {@code jcmd <pid> JFR.start}，event 名稱 {@code com.example.poc.RepositoryOperation}。
+ */
+@Configuration
+@ConditionalOnProperty(name = "poc.jfr.enabled", havingValue = "true")
+public class RepositoryEventsConfiguration {
+
+    @Bean
+    public static BeanPostProcessor repositoryEventPostProcessor(ObjectProvider<SqlStatementCounter> counter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                String approach = ObservedBeans.approachOf(bean, beanName);
+                if (approach == null) {
+                    return bean;
+                }
+                return ObservedBeans.advise(bean, new DefaultPointcutAdvisor(
+                        new RepositoryEventInterceptor(approach, counter.getIfAvailable())));
+            }
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.poc.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+
+/**
+ * Repository / Traditional service 的 Micrometer 指標名稱，以及不經 Spring context 直接包裝一個實作的入口
+ * (overhead benchmark 使用)。
+ * <ul>
+ *   <li>{@value #OPERATIONS} — Timer，tag {@code approach / operation / exception}</li>
+ *   <li>{@value #OPTIMISTIC_LOCK_CONFLICTS} — Counter，tag {@code approach / operation}</li>
+ *   <li>{@value #AGGREGATES_LOADED} / {@value #LINE_ITEMS_LOADED} — FunctionCounter，載入的 Order 數與 line item 數，tag {@code approach}</li>
+ *   <li>{@value #AGGREGATE_SIZE_MEAN} / {@value #AGGREGATE_SIZE_MAX} — Gauge，每個載入的 Order 的 line item 數 (平均 / 最大)，tag {@code approach}</li>
+ * </ul>
+ * HikariCP 的 {@code hikaricp.connections.*} 由 Spring Boot 在有 {@link MeterRegistry} 時自動綁定，不受 {@code poc.metrics.enabled} 影響。
+ */
+public final class RepositoryMetrics {
+
+    public static final String OPERATIONS = "poc.repository.operations";
+    public static final String OPTIMISTIC_LOCK_CONFLICTS = "poc.repository.optimistic.lock.conflicts";
+    public static final String AGGREGATES_LOADED = "poc.repository.aggregates.loaded";
+    public static final String LINE_ITEMS_LOADED = "poc.repository.line.items.loaded";
+    public static final String AGGREGATE_SIZE_MEAN = "poc.repository.aggregate.size.mean";
+    public static final String AGGREGATE_SIZE_MAX = "poc.repository.aggregate.size.max";
+
+    private RepositoryMetrics() {
+    }
+
+    /** 以 class-based proxy 包裝 {@code target}，回傳的物件與 target 同型別 */
+    @SuppressWarnings("unchecked")
+    public static <T> T instrument(T target, String approach, MeterRegistry registry, boolean percentileHistogram) {
+        return (T) ObservedBeans.advise(target, new DefaultPointcutAdvisor(
+                new RepositoryMetricsInterceptor(approach, registry, percentileHistogram)));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.poc.observability;
+
+import com.example.poc.domain.repository.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * {@code poc.metrics.enabled=true} 時，每個 {@link OrderRepository} 與兩個 Traditional service 都記錄
+ * {@link RepositoryMetrics} 的 Timer / Counter / Gauge。包裝方式與 {@link RepositoryEventsConfiguration} 相同，
+ * 兩者可同時開啟。{@code poc.metrics.percentile-histogram=false} 時 Timer 只保留 count / sum / max。
+ */
+@Configuration
+@ConditionalOnProperty(name = "poc.metrics.enabled", havingValue = "true")
+public class RepositoryMetricsConfiguration {
+
+    @Bean
+    public static BeanPostProcessor repositoryMetricsPostProcessor(
+            ObjectProvider<MeterRegistry> registry,
+            @Value("${poc.metrics.percentile-histogram:true}") boolean percentileHistogram) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                String approach = ObservedBeans.approachOf(bean, beanName);
+                MeterRegistry meterRegistry = approach == null ? null : registry.getIfAvailable();
+                if (meterRegistry == null) {
+                    return bean;
+                }
+                return RepositoryMetrics.instrument(bean, approach, meterRegistry, percentileHistogram);
+            }
+        };
+    }
+}
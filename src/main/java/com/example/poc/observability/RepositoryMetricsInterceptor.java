@@ -0,0 +1,152 @@
+package com.example.poc.observability;
+
+import com.example.poc.approach3_traditional_jpa.service.TraditionalJpaOrderService;
+import com.example.poc.approach4_traditional_jdbc.service.TraditionalJdbcOrderService;
+import com.example.poc.domain.model.Order;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.OptimisticLockException;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 成功路徑只有兩次 {@code nanoTime()}、一次 {@code Method → Timer} 查表與 {@code Timer.record}；
+ * meter 在第一次呼叫時註冊並快取，之後不再經過 registry 的 tag 比對。例外路徑 (含 optimistic lock 計數) 不快取。
+ * <p>
+ * Aggregate 大小每個 Order 只做 {@link LongAdder} / {@link LongAccumulator} 累加，由 registry 在 scrape 時讀取
+ * (findAll 一次回傳上萬筆時，逐筆 {@code DistributionSummary.record} 的成本會與查詢本身同一量級)。
+ * 只取已在記憶體中的資料：DDD 的 {@link Order} 與兩個 Traditional service 的 {@code OrderWithItems}；
+ * Traditional JPA 的 entity 不碰 lazy collection，以免觸發額外的 SQL。
+ */
+class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+    private final String approach;
+    private final MeterRegistry registry;
+    private final boolean percentileHistogram;
+    private final LongAdder ordersLoaded = new LongAdder();
+    private final LongAdder lineItemsLoaded = new LongAdder();
+    private final LongAccumulator largestAggregate = new LongAccumulator(Math::max, 0);
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    RepositoryMetricsInterceptor(String approach, MeterRegistry registry, boolean percentileHistogram) {
+        this.approach = approach;
+        this.registry = registry;
+        this.percentileHistogram = percentileHistogram;
+        FunctionCounter.builder(RepositoryMetrics.AGGREGATES_LOADED, ordersLoaded, LongAdder::sum)
+                .description("Orders loaded into memory")
+                .tag("approach", approach)
+                .register(registry);
+        FunctionCounter.builder(RepositoryMetrics.LINE_ITEMS_LOADED, lineItemsLoaded, LongAdder::sum)
+                .description("Line items loaded into memory")
+                .tag("approach", approach)
+                .register(registry);
+        Gauge.builder(RepositoryMetrics.AGGREGATE_SIZE_MEAN, this, RepositoryMetricsInterceptor::meanAggregateSize)
+                .description("Line items per loaded order (since start)")
+                .baseUnit("items")
+                .tag("approach", approach)
+                .register(registry);
+        Gauge.builder(RepositoryMetrics.AGGREGATE_SIZE_MAX, largestAggregate, LongAccumulator::get)
+                .description("Largest order loaded (line items, since start)")
+                .baseUnit("items")
+                .tag("approach", approach)
+                .register(registry);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (method.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            recordFailure(method.getName(), e, System.nanoTime() - start);
+            throw e;
+        }
+        Timer timer = timers.get(method);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(method, m -> timer(m.getName(), "none"));
+        }
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        recordAggregateSize(result);
+        return result;
+    }
+
+    private void recordFailure(String operation, Throwable e, long nanos) {
+        timer(operation, e.getClass().getSimpleName()).record(nanos, TimeUnit.NANOSECONDS);
+        if (isOptimisticLockConflict(e)) {
+            Counter.builder(RepositoryMetrics.OPTIMISTIC_LOCK_CONFLICTS)
+                    .description("Writes rejected because the aggregate version changed")
+                    .tags("approach", approach, "operation", operation)
+                    .register(registry)
+                    .increment();
+        }
+    }
+
+    private Timer timer(String operation, String exception) {
+        return Timer.builder(RepositoryMetrics.OPERATIONS)
+                .description("Repository / service call latency, including the surrounding transaction")
+                .tags("approach", approach, "operation", operation, "exception", exception)
+                .publishPercentileHistogram(percentileHistogram)
+                .register(registry);
+    }
+
+    private void recordAggregateSize(Object result) {
+        Object value = result instanceof Optional<?> optional ? optional.orElse(null) : result;
+        switch (value) {
+            case Order order -> recordLoaded(1, order.getLineItemCount(), order.getLineItemCount());
+            case TraditionalJpaOrderService.OrderWithItems order ->
+                    recordLoaded(1, order.items().size(), order.items().size());
+            case TraditionalJdbcOrderService.OrderWithItems order ->
+                    recordLoaded(1, order.lineItems().size(), order.lineItems().size());
+            case Collection<?> collection when !collection.isEmpty() && collection.iterator().next() instanceof Order -> {
+                long items = 0;
+                int largest = 0;
+                for (Object element : collection) {
+                    int count = ((Order) element).getLineItemCount();
+                    items += count;
+                    largest = Math.max(largest, count);
+                }
+                recordLoaded(collection.size(), items, largest);
+            }
+            case null, default -> {
+            }
+        }
+    }
+
+    private void recordLoaded(long orders, long items, int largest) {
+        ordersLoaded.add(orders);
+        lineItemsLoaded.add(items);
+        largestAggregate.accumulate(largest);
+    }
+
+    private double meanAggregateSize() {
+        long orders = ordersLoaded.sum();
+        return orders == 0 ? 0 : (double) lineItemsLoaded.sum() / orders;
+    }
+
+    private static boolean isOptimisticLockConflict(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockingFailureException || cause instanceof OptimisticLockException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
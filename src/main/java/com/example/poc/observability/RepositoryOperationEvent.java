@@ -0,0 +1,49 @@
+package com.example.poc.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 一次 Repository / Service 方法呼叫的 JFR event；duration 為整個呼叫 (含交易 commit)。
+ * <p>
+ * 慢的請求可以拆成：mappingTime (toEntity / toDomain / reconstitute)、statements (SQL 次數，
+ * 需 {@code poc.sql-stats.enabled=true}，否則為 -1)，其餘為 driver / 資料庫 / Hibernate flush 與連線等待。
+ */
+@Name("com.example.poc.RepositoryOperation")
+@Label("Repository Operation")
+@Category({"DDD PoC", "Persistence"})
+@Description("One OrderRepository or traditional service call")
+@StackTrace(false)
+public class RepositoryOperationEvent extends Event {
+
+    @Label("Approach")
+    public String approach;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Order Id")
+    public String orderId;
+
+    @Label("Item Count")
+    @Description("Line items of the aggregate involved, or of the items argument")
+    public int itemCount;
+
+    @Label("Result Size")
+    @Description("Elements returned by collection-valued operations")
+    public int resultSize;
+
+    @Label("Statements")
+    @Description("SQL statements executed on this thread during the call (-1 when SQL counting is off)")
+    public long statements;
+
+    @Label("Mapping Time")
+    @Description("Time spent mapping between rows / entities / documents and the Order aggregate")
+    @Timespan(Timespan.NANOSECONDS)
+    public long mappingTime;
+}
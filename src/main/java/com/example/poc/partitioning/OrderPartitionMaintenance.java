@@ -0,0 +1,182 @@
+package com.example.poc.partitioning;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 維護 {@code schema-partitioned.sql} 的月分區：預先建立未來的分區，並 detach 超過保留期的分區。
+ * <p>
+ * 每個月份在一個交易中同時處理 {@code orders_pYYYY_MM} 與 {@code order_line_items_pYYYY_MM}，
+ * 兩張表的分區邊界永遠一致。Detach 先處理 line items，再移除它留下的 FK 副本 —
+ * 否則 PostgreSQL 會認為仍有列參照 orders 分區而拒絕 detach。
+ * Detach 後的表保留原名與資料 (封存 / DROP 由維運決定)；因為有 DEFAULT 分區，無法使用 {@code DETACH CONCURRENTLY}。
+ * <p>
+ * 啟動時同步執行一次 (benchmark 寫入前分區已存在)，之後由背景執行緒每 {@code check-interval-minutes} 檢查。
+ */
+@Component
+@ConditionalOnProperty(name = "poc.partitioning.enabled", havingValue = "true")
+public class OrderPartitionMaintenance implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderPartitionMaintenance.class);
+
+    private static final String ORDERS = "orders";
+    private static final String LINE_ITEMS = "order_line_items";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("'_p'yyyy_MM");
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("_p(\\d{4})_(\\d{2})$");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int premakeMonths;
+    private final int retentionMonths;
+    private final long checkIntervalMillis;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public OrderPartitionMaintenance(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                     @Value("${poc.partitioning.premake-months}") int premakeMonths,
+                                     @Value("${poc.partitioning.retention-months}") int retentionMonths,
+                                     @Value("${poc.partitioning.check-interval-minutes}") long checkIntervalMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.premakeMonths = premakeMonths;
+        this.retentionMonths = retentionMonths;
+        this.checkIntervalMillis = checkIntervalMinutes * 60_000;
+    }
+
+    @Override
+    public void start() {
+        maintain(YearMonth.now());
+        running = true;
+        worker = Thread.ofPlatform().daemon().name("order-partition-maintenance").start(this::maintenanceLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(1_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void maintenanceLoop() {
+        while (running) {
+            try {
+                Thread.sleep(checkIntervalMillis);
+                maintain(YearMonth.now());
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Order partition maintenance failed, will retry in {} ms", checkIntervalMillis, e);
+            }
+        }
+    }
+
+    /**
+     * 確保 {@code [current - retention, current + premake]} 每個月都有分區，並 detach 更早的月份。
+     * 冪等；{@code current} 可由呼叫端指定 (測試模擬時間前進)。
+     */
+    public MaintenanceResult maintain(YearMonth current) {
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+        TreeSet<YearMonth> attached = attachedMonths();
+
+        List<YearMonth> created = new ArrayList<>();
+        for (YearMonth month = oldestKept; !month.isAfter(current.plusMonths(premakeMonths)); month = month.plusMonths(1)) {
+            if (!attached.contains(month) && createMonth(month)) {
+                created.add(month);
+            }
+        }
+
+        List<YearMonth> detached = new ArrayList<>();
+        for (YearMonth month : attached.headSet(oldestKept)) {
+            transactionTemplate.executeWithoutResult(status -> detachMonth(month));
+            detached.add(month);
+        }
+        if (!created.isEmpty() || !detached.isEmpty()) {
+            log.info("Order partitions: created {}, detached {}", created, detached);
+        }
+        return new MaintenanceResult(created, detached);
+    }
+
+    /** 目前掛在 {@code orders} 底下的月分區 (不含 DEFAULT) */
+    public TreeSet<YearMonth> attachedMonths() {
+        List<String> names = jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = ?::regclass
+                """, String.class, ORDERS);
+        TreeSet<YearMonth> months = new TreeSet<>();
+        for (String name : names) {
+            Matcher matcher = MONTHLY_PARTITION.matcher(name);
+            if (matcher.find()) {
+                months.add(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+            }
+        }
+        return months;
+    }
+
+    public static String partitionName(String parent, YearMonth month) {
+        return parent + month.format(SUFFIX);
+    }
+
+    private boolean createMonth(YearMonth month) {
+        String from = month.atDay(1).toString();
+        String to = month.plusMonths(1).atDay(1).toString();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (String parent : List.of(ORDERS, LINE_ITEMS)) {
+                    jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(parent, month)
+                            + " PARTITION OF " + parent + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+                }
+            });
+            return true;
+        } catch (DataAccessException e) {
+            // DEFAULT 分區已有落在此月份的列 → 該月份繼續留在 DEFAULT，不影響寫入
+            log.warn("Cannot create order partitions for {}: default partition holds rows in that range", month, e);
+            return false;
+        }
+    }
+
+    private void detachMonth(YearMonth month) {
+        String lineItems = partitionName(LINE_ITEMS, month);
+        jdbcTemplate.execute("ALTER TABLE " + LINE_ITEMS + " DETACH PARTITION " + lineItems);
+        // 只取最上層的 FK；它在各 orders 分區上的子 constraint (conparentid ≠ 0) 會隨之一併移除
+        List<String> foreignKeys = jdbcTemplate.queryForList(
+                "SELECT conname FROM pg_constraint WHERE conrelid = ?::regclass AND contype = 'f' AND conparentid = 0",
+                String.class, lineItems);
+        for (String foreignKey : foreignKeys) {
+            jdbcTemplate.execute("ALTER TABLE " + lineItems + " DROP CONSTRAINT " + foreignKey);
+        }
+        jdbcTemplate.execute("ALTER TABLE " + ORDERS + " DETACH PARTITION " + partitionName(ORDERS, month));
+    }
+
+    /**
+     * @param created  本次新建的月份
+     * @param detached 本次 detach 的月份
+     */
+    public record MaintenanceResult(List<YearMonth> created, List<YearMonth> detached) {}
+}
@@ -0,0 +1,91 @@
+package com.example.poc.readmodel;
+
+import com.example.poc.domain.model.OrderStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Transactional Outbox ({@code order_events}).
+ * <p>
+ * 寫入端：與 Aggregate 同一交易 INSERT 一列，commit 後才對 projector 可見。
+ * 讀取端：{@link #claimBatch} 以 {@code FOR UPDATE SKIP LOCKED} 取得一批事件，
+ * 多個 worker 並行時各自拿到不重疊的批次；呼叫端在同一交易中投影並 {@link #delete} 後 commit。
+ */
+@Component
+public class OrderEventOutbox {
+
+    public static final String ORDER_CHANGED = "ORDER_CHANGED";
+    public static final String STATUS_CHANGED = "STATUS_CHANGED";
+
+    /** 寫入端 SQL (named parameters)，JDBC 與 R2DBC Repository 共用 */
+    public static final String ORDER_CHANGED_SQL =
+            "INSERT INTO order_events (event_type, order_id, version) VALUES (:type, :orderId, :version)";
+    public static final String STATUS_CHANGED_SQL =
+            "INSERT INTO order_events (event_type, from_status, to_status) VALUES (:type, :from, :to)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public OrderEventOutbox(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    public void orderChanged(UUID orderId, int version) {
+        namedJdbcTemplate.update(ORDER_CHANGED_SQL, new MapSqlParameterSource()
+                .addValue("type", ORDER_CHANGED)
+                .addValue("orderId", orderId)
+                .addValue("version", version));
+    }
+
+    public void statusChanged(OrderStatus from, OrderStatus to) {
+        namedJdbcTemplate.update(STATUS_CHANGED_SQL, new MapSqlParameterSource()
+                .addValue("type", STATUS_CHANGED)
+                .addValue("from", from.name())
+                .addValue("to", to.name()));
+    }
+
+    /** Must be called inside a transaction; the claimed rows stay locked until it ends. */
+    public List<OutboxEvent> claimBatch(int batchSize) {
+        return jdbcTemplate.query("""
+                SELECT event_id, event_type, order_id, to_status,
+                       EXTRACT(EPOCH FROM (clock_timestamp() - created_at)) * 1000 AS age_ms
+                FROM order_events
+                ORDER BY event_id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+                """,
+                (rs, rowNum) -> new OutboxEvent(
+                        rs.getLong("event_id"),
+                        rs.getString("event_type"),
+                        rs.getObject("order_id", UUID.class),
+                        rs.getString("to_status") == null ? null : OrderStatus.valueOf(rs.getString("to_status")),
+                        rs.getDouble("age_ms")),
+                batchSize);
+    }
+
+    public void delete(List<OutboxEvent> events) {
+        Long[] ids = events.stream().map(OutboxEvent::eventId).toArray(Long[]::new);
+        jdbcTemplate.update("DELETE FROM order_events WHERE event_id = ANY(?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)));
+    }
+
+    public long pendingCount() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_events", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    public void deleteAll() {
+        jdbcTemplate.update("DELETE FROM order_events");
+    }
+
+    /**
+     * @param ageMillis 被 claim 時距離寫入的時間 (projector 取件延遲)
+     */
+    public record OutboxEvent(long eventId, String type, UUID orderId, OrderStatus toStatus, double ageMillis) {}
+}
@@ -0,0 +1,148 @@
+package com.example.poc.readmodel;
+
+import com.example.poc.domain.model.OrderStatus;
+import com.example.poc.readmodel.OrderEventOutbox.OutboxEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 非同步 Read Model projector — 從 {@code order_events} 批次取件並更新 {@code order_summary}。
+ * <p>
+ * 每個 worker 在一個交易中：claim 一批 (SKIP LOCKED) → 依 order id 去重後從來源表重新投影 → 刪除事件 → commit。
+ * 投影本身冪等且以 version 防止倒退，所以多個 worker 不需要協調順序；
+ * 交易失敗時事件留在 outbox，下一輪重試。
+ */
+@Component
+@ConditionalOnProperty(name = "poc.read-model.mode", havingValue = "ASYNC")
+public class OrderEventProjector implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventProjector.class);
+
+    private final OrderEventOutbox outbox;
+    private final OrderSummaryProjection projection;
+    private final TransactionTemplate transactionTemplate;
+    private final int workers;
+    private final int batchSize;
+    private final long idleMillis;
+
+    private final LongAdder eventsProjected = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final AtomicLong maxPickupLagMicros = new AtomicLong();
+
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    public OrderEventProjector(OrderEventOutbox outbox, OrderSummaryProjection projection,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${poc.read-model.projector.workers}") int workers,
+                               @Value("${poc.read-model.projector.batch-size}") int batchSize,
+                               @Value("${poc.read-model.projector.idle-ms}") long idleMillis) {
+        this.outbox = outbox;
+        this.projection = projection;
+        this.transactionTemplate = transactionTemplate;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.idleMillis = idleMillis;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            threads.add(Thread.ofPlatform().daemon().name("order-event-projector-" + i).start(this::workLoop));
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join(idleMillis * 10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        threads.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public ProjectorStats stats() {
+        return new ProjectorStats(eventsProjected.sum(), batches.sum(), maxPickupLagMicros.get() / 1000.0);
+    }
+
+    // ── Worker ───────────────────────────────────────────────────────────
+
+    private void workLoop() {
+        while (running) {
+            try {
+                Integer drained = transactionTemplate.execute(status -> drainOnce());
+                if (drained == null || drained == 0) {
+                    Thread.sleep(idleMillis);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Projecting order_events failed, batch will be retried", e);
+            }
+        }
+    }
+
+    private int drainOnce() {
+        List<OutboxEvent> events = outbox.claimBatch(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        Set<UUID> orderIds = new LinkedHashSet<>();
+        Set<OrderStatus> statuses = new LinkedHashSet<>();
+        double maxAge = 0;
+        for (OutboxEvent event : events) {
+            if (OrderEventOutbox.STATUS_CHANGED.equals(event.type())) {
+                statuses.add(event.toStatus());
+            } else {
+                orderIds.add(event.orderId());
+            }
+            maxAge = Math.max(maxAge, event.ageMillis());
+        }
+
+        projection.reproject(orderIds);
+        statuses.forEach(projection::reprojectStatus);
+        outbox.delete(events);
+
+        eventsProjected.add(events.size());
+        batches.increment();
+        long ageMicros = (long) (maxAge * 1000);
+        maxPickupLagMicros.accumulateAndGet(ageMicros, Math::max);
+        return events.size();
+    }
+
+    /**
+     * @param eventsProjected 已投影並刪除的事件數
+     * @param batches         已 commit 的批次數
+     * @param maxPickupLagMs  事件寫入到被 claim 的最大延遲
+     */
+    public record ProjectorStats(long eventsProjected, long batches, double maxPickupLagMs) {}
+}
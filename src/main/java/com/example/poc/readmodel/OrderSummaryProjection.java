@@ -0,0 +1,142 @@
+package com.example.poc.readmodel;
+
+import com.example.poc.domain.model.Order;
+import com.example.poc.domain.model.OrderStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * 維護 CQRS Read Model ({@code order_summary})，由 DDD Repository 在 save 的同一個交易中呼叫。
+ * <ul>
+ *   <li>{@link ReadModelMode#SYNC}: 直接 upsert {@code order_summary} — 永遠一致，寫入多一條 SQL</li>
+ *   <li>{@link ReadModelMode#ASYNC}: 只寫一筆 outbox 事件，由 {@link OrderEventProjector} 非同步投影 —
+ *       寫入成本最低，Read Model 有延遲</li>
+ *   <li>{@link ReadModelMode#OFF}: 不維護</li>
+ * </ul>
+ * 只用到 {@link Order#getLineItemCount()}，延遲載入的 Aggregate 不會因此被 materialize。
+ */
+@Component
+public class OrderSummaryProjection {
+
+    public enum ReadModelMode { OFF, SYNC, ASYNC }
+
+    /**
+     * SYNC 寫入的 SQL；named parameters 讓 JDBC ({@link NamedParameterJdbcTemplate}) 與
+     * R2DBC ({@code DatabaseClient}) 兩條寫入路徑共用同一段 SQL。
+     */
+    public static final String UPSERT_SQL = """
+            INSERT INTO order_summary (id, customer_id, status, item_count, total_amount, created_at, version)
+            VALUES (:id, :customerId, :status, :itemCount, :totalAmount, :createdAt, :version)
+            ON CONFLICT (id) DO UPDATE SET
+                customer_id  = EXCLUDED.customer_id,
+                status       = EXCLUDED.status,
+                item_count   = EXCLUDED.item_count,
+                total_amount = EXCLUDED.total_amount,
+                version      = EXCLUDED.version
+            """;
+    public static final String STATUS_UPDATE_SQL =
+            "UPDATE order_summary SET status = :to, version = version + 1 WHERE status = :from";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final OrderEventOutbox outbox;
+    private final ReadModelMode mode;
+
+    public OrderSummaryProjection(JdbcTemplate jdbcTemplate, OrderEventOutbox outbox,
+                                  @Value("${poc.read-model.mode}") ReadModelMode mode) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.outbox = outbox;
+        this.mode = mode;
+    }
+
+    public ReadModelMode mode() {
+        return mode;
+    }
+
+    // ── Called from the DDD repositories (inside the write transaction) ──
+
+    /** @param saved the aggregate as persisted, i.e. carrying the post-write version */
+    public void orderSaved(Order saved) {
+        switch (mode) {
+            case SYNC -> upsert(saved);
+            case ASYNC -> outbox.orderChanged(saved.getId(), saved.getVersion());
+            case OFF -> { }
+        }
+    }
+
+    public void statusChanged(OrderStatus from, OrderStatus to) {
+        switch (mode) {
+            case SYNC -> namedJdbcTemplate.update(STATUS_UPDATE_SQL, new MapSqlParameterSource()
+                    .addValue("to", to.name())
+                    .addValue("from", from.name()));
+            case ASYNC -> outbox.statusChanged(from, to);
+            case OFF -> { }
+        }
+    }
+
+    public void deleteAll() {
+        if (mode == ReadModelMode.OFF) {
+            return;
+        }
+        // 管理操作：同步清空，連同尚未投影的事件
+        outbox.deleteAll();
+        jdbcTemplate.update("DELETE FROM order_summary");
+    }
+
+    // ── Projection from the source tables (used by OrderEventProjector) ──
+
+    /**
+     * 依 {@code orders} 目前狀態重新投影指定訂單。冪等且與事件順序無關：
+     * 多個 worker 同時投影同一筆時，{@code version} 較舊的寫入會被 WHERE 條件擋下。
+     */
+    public int reproject(Collection<UUID> orderIds) {
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update("""
+                INSERT INTO order_summary (id, customer_id, status, item_count, total_amount, created_at, version)
+                SELECT o.id, o.customer_id, o.status,
+                       (SELECT COUNT(*) FROM order_line_items li WHERE li.order_id = o.id),
+                       o.total_amount, o.created_at, o.version
+                FROM orders o
+                WHERE o.id = ANY(?)
+                ORDER BY o.id
+                ON CONFLICT (id) DO UPDATE SET
+                    customer_id  = EXCLUDED.customer_id,
+                    status       = EXCLUDED.status,
+                    item_count   = EXCLUDED.item_count,
+                    total_amount = EXCLUDED.total_amount,
+                    version      = EXCLUDED.version
+                WHERE order_summary.version <= EXCLUDED.version
+                """,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", orderIds.toArray())));
+    }
+
+    /** 批次狀態更新事件：重新投影目前處於目標狀態、且 Read Model 落後的訂單 */
+    public int reprojectStatus(OrderStatus to) {
+        return jdbcTemplate.update("""
+                UPDATE order_summary s SET status = o.status, version = o.version
+                FROM orders o
+                WHERE o.id = s.id AND o.status = ? AND s.version < o.version
+                """, to.name());
+    }
+
+    private void upsert(Order order) {
+        namedJdbcTemplate.update(UPSERT_SQL, new MapSqlParameterSource()
+                .addValue("id", order.getId())
+                .addValue("customerId", order.getCustomerId())
+                .addValue("status", order.getStatus().name())
+                .addValue("itemCount", order.getLineItemCount())
+                .addValue("totalAmount", order.getTotalAmount())
+                .addValue("createdAt", Timestamp.valueOf(order.getCreatedAt()))
+                .addValue("version", order.getVersion()));
+    }
+}
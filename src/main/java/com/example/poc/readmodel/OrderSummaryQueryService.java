@@ -0,0 +1,89 @@
+package com.example.poc.readmodel;
+
+import com.example.poc.domain.model.OrderAggregateSummary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * CQRS Query Side — 直接查 {@code order_summary}，不經過 Aggregate。
+ * <p>
+ * 服務場景 H (列表)、K (分頁)、L (聚合報表)、O (投影)：每個操作都是單一 SQL、
+ * 每筆訂單一列，不需要 N+1 載入 LineItems，也不需要 Java 端映射完整 Aggregate。
+ */
+@Service
+@Transactional(readOnly = true)
+public class OrderSummaryQueryService {
+
+    private static final String COLUMNS = "id, customer_id, status, item_count, total_amount, created_at";
+
+    private static final RowMapper<OrderSummaryView> ROW_MAPPER = (rs, rowNum) -> new OrderSummaryView(
+            rs.getObject("id", UUID.class),
+            rs.getString("customer_id"),
+            rs.getString("status"),
+            rs.getInt("item_count"),
+            rs.getBigDecimal("total_amount"),
+            rs.getTimestamp("created_at").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderSummaryQueryService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** 場景 H / O: 列表與投影 — 1 SQL */
+    public List<OrderSummaryView> findAll() {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM order_summary ORDER BY created_at, id", ROW_MAPPER);
+    }
+
+    /** 場景 K: 分頁 (LIMIT/OFFSET，與其他方案語意相同) */
+    public List<OrderSummaryView> findPage(int page, int size) {
+        return jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM order_summary ORDER BY created_at, id LIMIT ? OFFSET ?",
+                ROW_MAPPER, size, page * size);
+    }
+
+    /** 場景 K: Keyset 分頁 — 以上一頁最後一筆 (created_at, id) 為游標，深分頁不需掃過 OFFSET 筆 */
+    public List<OrderSummaryView> findPageAfter(LocalDateTime createdAt, UUID id, int size) {
+        return jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM order_summary WHERE (created_at, id) > (?, ?) " +
+                        "ORDER BY created_at, id LIMIT ?",
+                ROW_MAPPER, createdAt, id, size);
+    }
+
+    /** 場景 L: 聚合報表 — 2 SQL (SUM/COUNT + GROUP BY) */
+    public OrderAggregateSummary computeAggregateSummary() {
+        Map<String, Object> totals = jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS total_orders, COALESCE(SUM(total_amount), 0) AS total_amount FROM order_summary");
+        long totalOrders = ((Number) totals.get("total_orders")).longValue();
+        BigDecimal totalAmount = (BigDecimal) totals.get("total_amount");
+        BigDecimal averageAmount = totalOrders > 0
+                ? totalAmount.divide(BigDecimal.valueOf(totalOrders), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+
+        Map<String, Long> countByStatus = new HashMap<>();
+        jdbcTemplate.query("SELECT status, COUNT(*) AS cnt FROM order_summary GROUP BY status",
+                rs -> {
+                    countByStatus.put(rs.getString("status"), rs.getLong("cnt"));
+                });
+        return new OrderAggregateSummary(totalOrders, totalAmount, averageAmount, countByStatus);
+    }
+
+    public record OrderSummaryView(
+            UUID id,
+            String customerId,
+            String status,
+            int itemCount,
+            BigDecimal totalAmount,
+            LocalDateTime createdAt
+    ) {}
+}
@@ -0,0 +1,171 @@
+package com.example.poc.sqlstats;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 以 JDK dynamic proxy 包裝 Connection / Statement / ResultSet，把每次 execute、batch、commit / rollback
+ * 與讀寫列數記到 {@link SqlStatementCounter}。不改變任何呼叫的行為；{@code unwrap} 仍回到底層 pool / driver。
+ * <p>
+ * 計的是 JDBC API 的呼叫，不是 wire protocol：pgJDBC 把大 batch 拆成多個封包、或 {@code reWriteBatchedInserts}
+ * 改寫成多列 INSERT，在這裡都仍算一次 batch。
+ */
+public class CountingDataSource extends DelegatingDataSource {
+
+    private final SqlStatementCounter counter;
+
+    public CountingDataSource(DataSource target, SqlStatementCounter counter) {
+        super(target);
+        this.counter = counter;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(obtainTargetDataSource().getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(obtainTargetDataSource().getConnection(username, password)));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /** equals / hashCode 以 proxy 本身為準，其餘轉給 target */
+    private abstract static class ForwardingHandler implements InvocationHandler {
+
+        final Object target;
+
+        ForwardingHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> "Counting[" + target + "]";
+                default -> handle(method, args);
+            };
+        }
+
+        abstract Object handle(Method method, Object[] args) throws Throwable;
+    }
+
+    private final class ConnectionHandler extends ForwardingHandler {
+
+        ConnectionHandler(Connection target) {
+            super(target);
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = CountingDataSource.invoke(target, method, args);
+            return switch (method.getName()) {
+                case "createStatement", "prepareStatement", "prepareCall" ->
+                        proxy(method.getReturnType(), new StatementHandler((Statement) result));
+                case "commit", "rollback" -> {
+                    counter.roundTrip();
+                    yield result;
+                }
+                default -> result;
+            };
+        }
+    }
+
+    private final class StatementHandler extends ForwardingHandler {
+
+        private long pendingBatch;
+
+        StatementHandler(Statement target) {
+            super(target);
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            Object result = CountingDataSource.invoke(target, method, args);
+            switch (name) {
+                case "addBatch" -> pendingBatch++;
+                case "clearBatch" -> pendingBatch = 0;
+                case "executeBatch" -> {
+                    counter.batch(pendingBatch, sum((int[]) result));
+                    pendingBatch = 0;
+                }
+                case "executeLargeBatch" -> {
+                    counter.batch(pendingBatch, sum((long[]) result));
+                    pendingBatch = 0;
+                }
+                case "executeQuery" -> {
+                    counter.statement(0);
+                    return wrap((ResultSet) result);
+                }
+                case "executeUpdate", "executeLargeUpdate" -> counter.statement(((Number) result).longValue());
+                case "execute" -> counter.statement(
+                        Boolean.TRUE.equals(result) ? 0 : ((Statement) target).getUpdateCount());
+                case "getResultSet", "getGeneratedKeys" -> {
+                    return wrap((ResultSet) result);
+                }
+                default -> {
+                }
+            }
+            return result;
+        }
+
+        private ResultSet wrap(ResultSet resultSet) {
+            return resultSet == null ? null : CountingDataSource.proxy(ResultSet.class, new ResultSetHandler(resultSet));
+        }
+
+        private static long sum(int[] updateCounts) {
+            long rows = 0;
+            for (int count : updateCounts) {
+                rows += Math.max(count, 0);
+            }
+            return rows;
+        }
+
+        private static long sum(long[] updateCounts) {
+            long rows = 0;
+            for (long count : updateCounts) {
+                rows += Math.max(count, 0);
+            }
+            return rows;
+        }
+    }
+
+    private final class ResultSetHandler extends ForwardingHandler {
+
+        ResultSetHandler(ResultSet target) {
+            super(target);
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = CountingDataSource.invoke(target, method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                counter.rowRead();
+            }
+            return result;
+        }
+    }
+}
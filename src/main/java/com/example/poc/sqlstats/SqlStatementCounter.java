@@ -0,0 +1,62 @@
+package com.example.poc.sqlstats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link CountingDataSource} 的計數器：每個執行緒各自累計 (benchmark 以前後快照相減得到單一場景的數字)，
+ * 另有跨執行緒的總計。計數只增不減；不需要 reset。
+ */
+public class SqlStatementCounter {
+
+    private final ThreadLocal<long[]> perThread = ThreadLocal.withInitial(() -> new long[5]);
+    private final LongAdder[] total = {new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder()};
+
+    private static final int STATEMENTS = 0;
+    private static final int BATCHES = 1;
+    private static final int ROUND_TRIPS = 2;
+    private static final int ROWS_READ = 3;
+    private static final int ROWS_WRITTEN = 4;
+
+    /** 目前執行緒從啟動以來的累計值 */
+    public SqlStatistics currentThread() {
+        long[] counts = perThread.get();
+        return new SqlStatistics(counts[STATEMENTS], counts[BATCHES], counts[ROUND_TRIPS],
+                counts[ROWS_READ], counts[ROWS_WRITTEN]);
+    }
+
+    /** 所有執行緒的累計值 (含背景 projector / cache listener) */
+    public SqlStatistics total() {
+        return new SqlStatistics(total[STATEMENTS].sum(), total[BATCHES].sum(), total[ROUND_TRIPS].sum(),
+                total[ROWS_READ].sum(), total[ROWS_WRITTEN].sum());
+    }
+
+    void statement(long rowsWritten) {
+        add(STATEMENTS, 1);
+        add(ROUND_TRIPS, 1);
+        if (rowsWritten > 0) {
+            add(ROWS_WRITTEN, rowsWritten);
+        }
+    }
+
+    void batch(long statements, long rowsWritten) {
+        add(STATEMENTS, statements);
+        add(BATCHES, 1);
+        add(ROUND_TRIPS, 1);
+        if (rowsWritten > 0) {
+            add(ROWS_WRITTEN, rowsWritten);
+        }
+    }
+
+    void roundTrip() {
+        add(ROUND_TRIPS, 1);
+    }
+
+    void rowRead() {
+        add(ROWS_READ, 1);
+    }
+
+    private void add(int counter, long delta) {
+        perThread.get()[counter] += delta;
+        total[counter].add(delta);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.poc.sqlstats;
+
+/**
+ * JDBC 層的計數快照。
+ *
+ * @param statements  執行的 SQL 數 (batch 中的每一組參數各算一條)
+ * @param batches     {@code executeBatch} 次數
+ * @param roundTrips  execute* / executeBatch / commit / rollback 次數 — 從 JDBC API 估算的 DB 往返
+ * @param rowsRead    {@code ResultSet.next()} 讀到的列數
+ * @param rowsWritten update count 的總和
+ */
+public record SqlStatistics(long statements, long batches, long roundTrips, long rowsRead, long rowsWritten) {
+
+    public static final SqlStatistics ZERO = new SqlStatistics(0, 0, 0, 0, 0);
+
+    public SqlStatistics minus(SqlStatistics other) {
+        return new SqlStatistics(statements - other.statements, batches - other.batches,
+                roundTrips - other.roundTrips, rowsRead - other.rowsRead, rowsWritten - other.rowsWritten);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("statements=%d, batches=%d, roundTrips=%d, rowsRead=%d, rowsWritten=%d",
+                statements, batches, roundTrips, rowsRead, rowsWritten);
+    }
+}
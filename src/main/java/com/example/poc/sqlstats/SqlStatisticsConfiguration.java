@@ -0,0 +1,36 @@
+package com.example.poc.sqlstats;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * {@code poc.sql-stats.enabled=true} 時，把 context 中的 JDBC DataSource 包成 {@link CountingDataSource}。
+ * JPA、JdbcTemplate 與 Spring Data JDBC 都經過同一個 DataSource，R2DBC (approach 7) 不在計數範圍內。
+ */
+@Configuration
+@ConditionalOnProperty(name = "poc.sql-stats.enabled", havingValue = "true")
+public class SqlStatisticsConfiguration {
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    public static BeanPostProcessor countingDataSourcePostProcessor(ObjectProvider<SqlStatementCounter> counter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof CountingDataSource)) {
+                    return new CountingDataSource(dataSource, counter.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,26 @@
+-- Index pack (profile "indexed" / poc.index-pack.enabled=true), applied by OrderIndexPack after schema.sql
+-- (or schema-partitioned.sql + schema.sql). Shaped after the benchmark queries, identical for the three table families.
+-- OrderIndexPack.drop() removes exactly the indexes named in this file.
+
+-- N: product_id -> order_id answered by an index-only scan (no heap visit per line item)
+CREATE INDEX IF NOT EXISTS idx_order_line_items_product_id_cov ON order_line_items (product_id) INCLUDE (order_id);
+CREATE INDEX IF NOT EXISTS idx_trad_order_line_items_product_id_cov ON trad_order_line_items (product_id) INCLUDE (order_id);
+CREATE INDEX IF NOT EXISTS idx_jdbc_order_line_items_product_id_cov ON jdbc_order_line_items (product_id) INCLUDE (order_id);
+
+-- K: ORDER BY created_at LIMIT / OFFSET (keyset-ready with id); INCLUDE covers the order header of a page
+CREATE INDEX IF NOT EXISTS idx_orders_created_at_id ON orders (created_at, id)
+    INCLUDE (customer_id, status, total_amount, updated_at, version);
+CREATE INDEX IF NOT EXISTS idx_trad_orders_created_at_id ON trad_orders (created_at, id)
+    INCLUDE (customer_id, status, total_amount, updated_at, version);
+CREATE INDEX IF NOT EXISTS idx_jdbc_orders_created_at_id ON jdbc_orders (created_at, id)
+    INCLUDE (customer_id, status, total_amount, updated_at, version);
+
+-- M: bulk status updates only start from active statuses; CONFIRMED / CANCELLED history stays out of the index
+CREATE INDEX IF NOT EXISTS idx_orders_active_status ON orders (status) WHERE status IN ('DRAFT', 'SUBMITTED');
+CREATE INDEX IF NOT EXISTS idx_trad_orders_active_status ON trad_orders (status) WHERE status IN ('DRAFT', 'SUBMITTED');
+CREATE INDEX IF NOT EXISTS idx_jdbc_orders_active_status ON jdbc_orders (status) WHERE status IN ('DRAFT', 'SUBMITTED');
+
+-- Time-range scans: created_at follows insertion order, so a BRIN index is a few pages instead of a B-tree
+CREATE INDEX IF NOT EXISTS idx_orders_created_at_brin ON orders USING brin (created_at);
+CREATE INDEX IF NOT EXISTS idx_trad_orders_created_at_brin ON trad_orders USING brin (created_at);
+CREATE INDEX IF NOT EXISTS idx_jdbc_orders_created_at_brin ON jdbc_orders USING brin (created_at);
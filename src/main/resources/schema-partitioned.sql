@@ -0,0 +1,38 @@
+-- Profile "partitioned": runs BEFORE schema.sql, so the CREATE TABLE IF NOT EXISTS there become no-ops and
+-- its CREATE INDEX statements create partitioned indexes on these tables.
+--
+-- orders is range-partitioned by month on created_at; order_line_items is co-partitioned on order_created_at
+-- (a copy of the parent's created_at) so an order and its items always live in the same month and a month can be
+-- detached as a unit. Every unique key must contain the partition key, so the primary keys become
+-- (id, created_at) / (id, order_created_at); they keep the names orders_pkey / order_line_items_pkey, which the
+-- JDBC / R2DBC upserts use as their ON CONFLICT target on both schemas.
+-- Monthly partitions are created / detached by OrderPartitionMaintenance; the DEFAULT partitions only catch rows
+-- outside the maintained window.
+
+CREATE TABLE IF NOT EXISTS orders (
+    id UUID NOT NULL,
+    customer_id VARCHAR(255) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    total_amount NUMERIC(19,2) NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    version INT NOT NULL DEFAULT 0,
+    CONSTRAINT orders_pkey PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE IF NOT EXISTS orders_default PARTITION OF orders DEFAULT;
+
+CREATE TABLE IF NOT EXISTS order_line_items (
+    id UUID NOT NULL,
+    order_id UUID NOT NULL,
+    order_created_at TIMESTAMP NOT NULL,
+    product_id VARCHAR(255) NOT NULL,
+    product_name VARCHAR(255) NOT NULL,
+    quantity INT NOT NULL,
+    unit_price NUMERIC(19,2) NOT NULL,
+    subtotal NUMERIC(19,2) NOT NULL,
+    CONSTRAINT order_line_items_pkey PRIMARY KEY (id, order_created_at),
+    CONSTRAINT order_line_items_order_fk FOREIGN KEY (order_id, order_created_at) REFERENCES orders (id, created_at)
+) PARTITION BY RANGE (order_created_at);
+
+CREATE TABLE IF NOT EXISTS order_line_items_default PARTITION OF order_line_items DEFAULT;
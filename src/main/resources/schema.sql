@@ -9,9 +9,11 @@ CREATE TABLE IF NOT EXISTS orders (
     version INT NOT NULL DEFAULT 0
 );
 
+-- order_created_at copies orders.created_at: the partition key when schema-partitioned.sql co-partitions line items
 CREATE TABLE IF NOT EXISTS order_line_items (
     id UUID PRIMARY KEY,
     order_id UUID NOT NULL REFERENCES orders(id),
+    order_created_at TIMESTAMP NOT NULL,
     product_id VARCHAR(255) NOT NULL,
     product_name VARCHAR(255) NOT NULL,
     quantity INT NOT NULL,
@@ -19,6 +21,24 @@ CREATE TABLE IF NOT EXISTS order_line_items (
     subtotal NUMERIC(19,2) NOT NULL
 );
 
+-- Migration for databases created before order_created_at existed: add, backfill, then enforce.
+-- Runs only while the column is missing or nullable, so later startups skip the scan and the table lock.
+-- The body is a quoted string rather than $$...$$ because Spring's script splitter does not know dollar quoting.
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = current_schema()
+                     AND table_name = ''order_line_items''
+                     AND column_name = ''order_created_at''
+                     AND is_nullable = ''NO'') THEN
+        ALTER TABLE order_line_items ADD COLUMN IF NOT EXISTS order_created_at TIMESTAMP;
+        UPDATE order_line_items li SET order_created_at = o.created_at
+        FROM orders o
+        WHERE li.order_id = o.id AND li.order_created_at IS NULL;
+        ALTER TABLE order_line_items ALTER COLUMN order_created_at SET NOT NULL;
+    END IF;
+END';
+
 CREATE INDEX IF NOT EXISTS idx_order_line_items_order_id ON order_line_items(order_id);
 CREATE INDEX IF NOT EXISTS idx_orders_status ON orders(status);
 CREATE INDEX IF NOT EXISTS idx_order_line_items_product_id ON order_line_items(product_id);
@@ -72,3 +92,65 @@ CREATE TABLE IF NOT EXISTS jdbc_order_line_items (
 CREATE INDEX IF NOT EXISTS idx_jdbc_order_line_items_order_id ON jdbc_order_line_items(order_id);
 CREATE INDEX IF NOT EXISTS idx_jdbc_orders_status ON jdbc_orders(status);
 CREATE INDEX IF NOT EXISTS idx_jdbc_order_line_items_product_id ON jdbc_order_line_items(product_id);
+
+-- Approach 5: DDD aggregate as one JSONB document (doc) per order.
+-- status / total_amount / item_count are generated from the document so reports and bulk updates stay set-based;
+-- created_at is a plain column because text -> timestamp casts are not immutable.
+CREATE TABLE IF NOT EXISTS jsonb_orders (
+    id UUID PRIMARY KEY,
+    doc JSONB NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    version INT NOT NULL DEFAULT 0,
+    status VARCHAR(50) GENERATED ALWAYS AS (doc->>'status') STORED,
+    total_amount NUMERIC(19,2) GENERATED ALWAYS AS ((doc->>'totalAmount')::numeric) STORED,
+    item_count INT GENERATED ALWAYS AS (jsonb_array_length(doc->'lineItems')) STORED
+);
+
+CREATE INDEX IF NOT EXISTS idx_jsonb_orders_status ON jsonb_orders(status);
+CREATE INDEX IF NOT EXISTS idx_jsonb_orders_created_at ON jsonb_orders(created_at);
+-- findByProductId: doc->'lineItems' @> '[{"productId": ?}]'
+CREATE INDEX IF NOT EXISTS idx_jsonb_orders_line_items ON jsonb_orders USING GIN ((doc->'lineItems') jsonb_path_ops);
+
+-- CQRS Read Model: denormalized order header (maintained by the DDD repositories)
+CREATE TABLE IF NOT EXISTS order_summary (
+    id UUID PRIMARY KEY,
+    customer_id VARCHAR(255) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    item_count INT NOT NULL,
+    total_amount NUMERIC(19,2) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    version INT NOT NULL DEFAULT 0
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_summary_created_at_id ON order_summary(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_order_summary_status ON order_summary(status);
+
+-- Transactional Outbox: written in the same transaction as each DDD save / bulkUpdateStatus,
+-- drained asynchronously by OrderEventProjector (FOR UPDATE SKIP LOCKED)
+CREATE TABLE IF NOT EXISTS order_events (
+    event_id BIGSERIAL PRIMARY KEY,
+    event_type VARCHAR(50) NOT NULL,
+    order_id UUID,
+    version INT,
+    from_status VARCHAR(50),
+    to_status VARCHAR(50),
+    created_at TIMESTAMP NOT NULL DEFAULT clock_timestamp()
+);
+
+-- Approach 8: Event-sourced Order. Append-only; (aggregate_id, sequence) is the optimistic concurrency token
+CREATE TABLE IF NOT EXISTS es_order_events (
+    aggregate_id UUID NOT NULL,
+    sequence INT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload JSONB NOT NULL,
+    occurred_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (aggregate_id, sequence)
+);
+
+-- Latest snapshot per aggregate; findById replays only the events after snapshot.sequence
+CREATE TABLE IF NOT EXISTS es_order_snapshots (
+    aggregate_id UUID PRIMARY KEY,
+    sequence INT NOT NULL,
+    state JSONB NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
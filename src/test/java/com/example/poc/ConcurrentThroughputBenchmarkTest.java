@@ -0,0 +1,303 @@
+package com.example.poc;
+
+import com.example.poc.approach3_traditional_jpa.service.TraditionalJpaOrderService;
+import com.example.poc.approach4_traditional_jdbc.service.TraditionalJdbcOrderService;
+import com.example.poc.domain.model.LineItemInput;
+import com.example.poc.domain.model.Order;
+import com.example.poc.domain.repository.OrderRepository;
+import com.example.poc.support.BenchmarkPostgres;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 六個方案在並行負載下的吞吐量 — A~O 都是單執行緒，只有 J 驗證並行正確性，看不出 20 條連線的 Hikari pool 何時成為瓶頸。
+ * <p>
+ * 每個並行度 N (預設 1 → 1000) 以 virtual threads 與 platform threads 各跑一次固定時間的 closed loop：
+ * 80% 讀取完整 Aggregate (隨機 id)，20% 建立一筆 5 items 的新 Order。報告 ops/sec、延遲百分位數、
+ * 從 Hikari {@link IMetricsTracker} 取得的連線等待時間、峰值執行緒數，以及吞吐量飽和的 N
+ * (第一個達到峰值 95% 的並行度 — 之後增加的執行緒只會增加等待)。
+ * 六個方案 × 兩種執行緒 × 每個 N 各跑數秒，預設不執行：{@code -Dbenchmark.throughput=true}。
+ */
+@EnabledIfSystemProperty(named = "benchmark.throughput", matches = "true")
+class ConcurrentThroughputBenchmarkTest {
+
+    private static final int POOL_SIZE = 20;
+    private static final int ORDERS = 200;
+    private static final int ITEMS_PER_ORDER = 5;
+    private static final int WRITE_PERCENT = 20;
+    /** -Dbenchmark.throughput.threads=1,2,4,...；-Dbenchmark.throughput.seconds=10 */
+    private static final int[] THREADS = Arrays.stream(
+                    System.getProperty("benchmark.throughput.threads", "1,4,16,64,256,1000").split(","))
+            .map(String::trim).mapToInt(Integer::parseInt).toArray();
+    private static final int SECONDS = Integer.getInteger("benchmark.throughput.seconds", 3);
+    private static final double SATURATION_RATIO = 0.95;
+    private static final String[] APPROACHES = {"DDD+JPA", "DDD+JDBC", "Trad+JPA", "Trad+JDBC", "DDD+JSONB", "DDD+SpringJDBC"};
+
+    /** -Dbenchmark.database / -Dbenchmark.postgres.config，同 RepositoryBenchmarkTest */
+    @RegisterExtension
+    static BenchmarkPostgres postgres = BenchmarkPostgres.fromSystemProperties();
+
+    /** Hikari 取得連線的等待時間 (recordConnectionAcquiredNanos)，每個並行度前 reset */
+    private static final Histogram POOL_WAIT = new ConcurrentHistogram(3);
+    private static final AtomicLong POOL_TIMEOUTS = new AtomicLong();
+
+    private static ConfigurableApplicationContext context;
+    private static OrderRepository dddJpaRepo;
+    private static OrderRepository dddJdbcRepo;
+    private static OrderRepository dddJsonbRepo;
+    private static OrderRepository dddSdjRepo;
+    private static TraditionalJpaOrderService tradJpaService;
+    private static TraditionalJdbcOrderService tradJdbcService;
+
+    @BeforeAll
+    static void startContext() {
+        List<String> args = new ArrayList<>(List.of(postgres.dataSourceArgs()));
+        args.add("--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE);
+        args.add("--spring.datasource.hikari.minimum-idle=" + POOL_SIZE);
+        // 與 RepositoryBenchmarkTest 相同：DDD 寫入不維護 Read Model
+        args.add("--poc.read-model.mode=OFF");
+        context = new SpringApplicationBuilder(DddRepositoryPocApplication.class)
+                .web(WebApplicationType.NONE)
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(poolWaitTracker()))
+                .run(args.toArray(String[]::new));
+        dddJpaRepo = context.getBean("approach1OrderRepository", OrderRepository.class);
+        dddJdbcRepo = context.getBean("dddJdbcOrderRepository", OrderRepository.class);
+        dddJsonbRepo = context.getBean("dddJsonbOrderRepository", OrderRepository.class);
+        dddSdjRepo = context.getBean("dddSpringDataJdbcOrderRepository", OrderRepository.class);
+        tradJpaService = context.getBean(TraditionalJpaOrderService.class);
+        tradJdbcService = context.getBean(TraditionalJdbcOrderService.class);
+    }
+
+    @AfterAll
+    static void stopContext() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void mixedWorkloadThroughput() throws InterruptedException {
+        System.out.printf("%n═══ Mixed workload throughput (%d%% reads / %d%% writes, pool %d, %d s per point) ═══%n",
+                100 - WRITE_PERCENT, WRITE_PERCENT, POOL_SIZE, SECONDS);
+        System.out.println("  Database: " + postgres.describe());
+        System.out.printf("  %-14s │ %-8s │ %7s │ %9s │ %8s │ %8s │ %8s │ %10s │ %10s │ %7s │ %6s%n",
+                "Approach", "Threads", "N", "Ops/sec", "p50 ms", "p99 ms", "p99.9 ms",
+                "wait avg", "wait p99", "Peak thr", "Errors");
+        List<String> saturation = new ArrayList<>();
+        for (int a = 0; a < APPROACHES.length; a++) {
+            Workload workload = seed(a);
+            run(workload, Thread.ofVirtual().factory(), THREADS[0], 1); // warmup: JIT + 所有連線
+            for (boolean virtual : new boolean[]{true, false}) {
+                double[] opsPerSec = new double[THREADS.length];
+                for (int t = 0; t < THREADS.length; t++) {
+                    Result result = run(workload,
+                            virtual ? Thread.ofVirtual().factory() : Thread.ofPlatform().factory(), THREADS[t], SECONDS);
+                    opsPerSec[t] = result.opsPerSec();
+                    System.out.printf("  %-14s │ %-8s │ %7d │ %9.0f │ %8.2f │ %8.2f │ %8.2f │ %7.2f ms │ %7.2f ms │ %7d │ %6d%n",
+                            t == 0 && virtual ? APPROACHES[a] : "", t == 0 ? (virtual ? "virtual" : "platform") : "",
+                            THREADS[t], result.opsPerSec(), result.p50Ms(), result.p99Ms(), result.p999Ms(),
+                            result.poolWaitAvgMs(), result.poolWaitP99Ms(), result.peakThreads(), result.errors());
+                    assertThat(result.operations()).isPositive();
+                    // ops/sec 只計成功的操作；任何失敗 (含連線逾時) 都代表這個點的數字不可信
+                    assertThat(result.errors()).as("%s / %d threads: errors", APPROACHES[a], THREADS[t]).isZero();
+                }
+                saturation.add(String.format("%s / %s: saturates at N=%d (%.0f ops/sec peak)",
+                        APPROACHES[a], virtual ? "virtual" : "platform",
+                        saturationPoint(opsPerSec), Arrays.stream(opsPerSec).max().orElse(0)));
+            }
+            System.out.println("  ───────────────┼──────────┼─────────┼───────────┼──────────┼──────────┼──────────┼────────────┼────────────┼─────────┼───────");
+        }
+        System.out.printf("%n  [Saturation] first N reaching %.0f%% of peak ops/sec%n", SATURATION_RATIO * 100);
+        saturation.forEach(line -> System.out.println("    " + line));
+        context.getBean(JdbcTemplate.class).execute("TRUNCATE order_line_items, orders, order_summary, "
+                + "trad_order_line_items, trad_orders, jdbc_order_line_items, jdbc_orders, jsonb_orders");
+    }
+
+    // ── Workload ────────────────────────────────────────────────────────
+
+    /** 一個方案的讀 / 寫操作；ids 為該方案自己資料表中已 seed 的 Orders */
+    private record Workload(List<UUID> ids, Consumer<UUID> read, Runnable write) {}
+
+    private static Workload seed(int approach) {
+        List<UUID> ids = new ArrayList<>(ORDERS);
+        Workload workload = switch (APPROACHES[approach]) {
+            case "DDD+JPA" -> dddWorkload(dddJpaRepo, ids);
+            case "DDD+JDBC" -> dddWorkload(dddJdbcRepo, ids);
+            case "DDD+JSONB" -> dddWorkload(dddJsonbRepo, ids);
+            case "DDD+SpringJDBC" -> dddWorkload(dddSdjRepo, ids);
+            case "Trad+JPA" -> new Workload(ids,
+                    id -> assertThat(tradJpaService.findOrderWithItems(id).items()).hasSize(ITEMS_PER_ORDER),
+                    () -> tradJpaService.createOrderWithItems("CUST-LOAD", lineItemInputs()));
+            default -> new Workload(ids,
+                    id -> assertThat(tradJdbcService.findOrderWithItems(id)).isNotNull(),
+                    () -> tradJdbcService.createOrderWithItems("CUST-LOAD", lineItemInputs()));
+        };
+        for (int i = 0; i < ORDERS; i++) {
+            ids.add(switch (APPROACHES[approach]) {
+                case "Trad+JPA" -> tradJpaService.createOrderWithItems("CUST-" + i, lineItemInputs()).getId();
+                case "Trad+JDBC" -> tradJdbcService.createOrderWithItems("CUST-" + i, lineItemInputs());
+                default -> dddRepository(approach).save(newOrder("CUST-" + i)).getId();
+            });
+        }
+        return workload;
+    }
+
+    private static Workload dddWorkload(OrderRepository repository, List<UUID> ids) {
+        return new Workload(ids,
+                id -> assertThat(repository.findById(id).orElseThrow().getLineItems()).hasSize(ITEMS_PER_ORDER),
+                () -> repository.save(newOrder("CUST-LOAD")));
+    }
+
+    private static OrderRepository dddRepository(int approach) {
+        return switch (APPROACHES[approach]) {
+            case "DDD+JPA" -> dddJpaRepo;
+            case "DDD+JDBC" -> dddJdbcRepo;
+            case "DDD+JSONB" -> dddJsonbRepo;
+            default -> dddSdjRepo;
+        };
+    }
+
+    /** N 條執行緒同時開始，各自不停執行操作直到 deadline；只計 deadline 前完成的操作 */
+    private static Result run(Workload workload, ThreadFactory factory, int threads, int seconds)
+            throws InterruptedException {
+        Histogram latencies = new ConcurrentHistogram(3);
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        long[] deadline = new long[1];
+
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        threadBean.resetPeakThreadCount();
+        POOL_WAIT.reset();
+        POOL_TIMEOUTS.set(0);
+        for (int t = 0; t < threads; t++) {
+            factory.newThread(() -> {
+                try {
+                    ready.countDown();
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline[0]) {
+                        long begin = System.nanoTime();
+                        try {
+                            if (random.nextInt(100) < WRITE_PERCENT) {
+                                workload.write().run();
+                            } else {
+                                workload.read().accept(workload.ids().get(random.nextInt(workload.ids().size())));
+                            }
+                            latencies.recordValue(System.nanoTime() - begin);
+                        } catch (RuntimeException | AssertionError e) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        ready.await();
+        long begin = System.nanoTime();
+        deadline[0] = begin + seconds * 1_000_000_000L;
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        return Result.of(latencies, errors.get() + POOL_TIMEOUTS.get(), elapsed, threadBean.getPeakThreadCount());
+    }
+
+    /** 第一個達到峰值 SATURATION_RATIO 的並行度 */
+    private static int saturationPoint(double[] opsPerSec) {
+        double peak = Arrays.stream(opsPerSec).max().orElse(0);
+        for (int t = 0; t < opsPerSec.length; t++) {
+            if (opsPerSec[t] >= peak * SATURATION_RATIO) {
+                return THREADS[t];
+            }
+        }
+        return THREADS[THREADS.length - 1];
+    }
+
+    /** 在 pool 啟動 (第一次 getConnection) 前掛上 tracker；pool 等待時間只有 Hikari 自己量得到 */
+    private static BeanPostProcessor poolWaitTracker() {
+        MetricsTrackerFactory factory = (poolName, poolStats) -> new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                POOL_WAIT.recordValue(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                POOL_TIMEOUTS.incrementAndGet();
+            }
+        };
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    hikari.setMetricsTrackerFactory(factory);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static Order newOrder(String customerId) {
+        Order order = Order.create(customerId);
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            order.addLineItem("P" + i, "Product " + i, 1 + (i % 5), BigDecimal.valueOf(10 + i));
+        }
+        return order;
+    }
+
+    private static List<LineItemInput> lineItemInputs() {
+        List<LineItemInput> items = new ArrayList<>(ITEMS_PER_ORDER);
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            items.add(new LineItemInput("P" + i, "Product " + i, 1 + (i % 5), BigDecimal.valueOf(10 + i)));
+        }
+        return items;
+    }
+
+    private record Result(long operations, long errors, double opsPerSec, double p50Ms, double p99Ms, double p999Ms,
+                          double poolWaitAvgMs, double poolWaitP99Ms, int peakThreads) {
+
+        static Result of(Histogram latencies, long errors, long elapsedNanos, int peakThreads) {
+            long operations = latencies.getTotalCount();
+            return new Result(operations, errors,
+                    operations / (elapsedNanos / 1_000_000_000.0),
+                    latencies.getValueAtPercentile(50) / 1_000_000.0,
+                    latencies.getValueAtPercentile(99) / 1_000_000.0,
+                    latencies.getValueAtPercentile(99.9) / 1_000_000.0,
+                    POOL_WAIT.getTotalCount() == 0 ? 0 : POOL_WAIT.getMean() / 1_000_000.0,
+                    POOL_WAIT.getValueAtPercentile(99) / 1_000_000.0,
+                    peakThreads);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.poc.approach7_ddd_r2dbc;
+
+import com.example.poc.DddRepositoryPocApplication;
+import com.example.poc.domain.model.Order;
+import com.example.poc.domain.model.OrderStatus;
+import com.example.poc.domain.repository.OrderRepository;
+import com.example.poc.domain.repository.ReactiveOrderRepository;
+import com.example.poc.support.BenchmarkPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Blocking (DDD+JDBC / DDD+JPA on HikariCP) vs non-blocking (DDD+R2DBC) 在高並行下的比較。
+ * <p>
+ * 兩邊的連線池都固定為 {@code POOL_SIZE}，並行 client 數超過連線數後，blocking 方案每個 client
+ * 佔用一條執行緒等待連線，reactive 方案只在 event loop 上排隊。每個並行度執行相同的總操作數
+ * ({@code benchmark.reactive.ops})，報告 ops/sec、延遲百分位數與峰值執行緒數。
+ */
+class ReactiveConcurrencyBenchmarkTest {
+
+    private static final int POOL_SIZE = 10;
+    private static final int ORDERS = 100;
+    private static final int ITEMS_PER_ORDER = 10;
+    private static final int[] CLIENTS = {10, 100, 1000};
+    private static final int TOTAL_OPS = Integer.getInteger("benchmark.reactive.ops", 5000);
+    private static final String[] APPROACHES = {"DDD+JDBC", "DDD+JPA", "DDD+R2DBC"};
+
+    /** -Dbenchmark.database / -Dbenchmark.postgres.config，同 RepositoryBenchmarkTest */
+    @RegisterExtension
+    static BenchmarkPostgres postgres = BenchmarkPostgres.fromSystemProperties();
+
+    private static ConfigurableApplicationContext context;
+    private static OrderRepository dddJdbcRepo;
+    private static OrderRepository dddJpaRepo;
+    private static ReactiveOrderRepository dddR2dbcRepo;
+
+    @BeforeAll
+    static void startContext() {
+        List<String> args = new ArrayList<>(List.of(postgres.dataSourceArgs()));
+        args.add("--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE);
+        args.add("--spring.datasource.hikari.minimum-idle=" + POOL_SIZE);
+        args.add("--poc.r2dbc.pool.max-size=" + POOL_SIZE);
+        context = new SpringApplicationBuilder(DddRepositoryPocApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+        dddJdbcRepo = context.getBean("dddJdbcOrderRepository", OrderRepository.class);
+        dddJpaRepo = context.getBean("approach1OrderRepository", OrderRepository.class);
+        dddR2dbcRepo = context.getBean("dddR2dbcOrderRepository", ReactiveOrderRepository.class);
+    }
+
+    @AfterAll
+    static void stopContext() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void findByIdUnderConcurrency() throws Exception {
+        dddR2dbcRepo.deleteAll().block();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = newOrder("CUST-R2DBC-" + i);
+            ids.add(dddR2dbcRepo.save(order).map(Order::getId).block());
+        }
+
+        // Warmup: JIT + 建立所有連線
+        runBlocking(dddJdbcRepo, ids, POOL_SIZE, 1000);
+        runBlocking(dddJpaRepo, ids, POOL_SIZE, 1000);
+        runReactive(ids, POOL_SIZE, 1000);
+
+        System.out.println("\n═══ findById under concurrency (pool size " + POOL_SIZE + ", " + TOTAL_OPS + " ops) ═══");
+        System.out.printf("  %-10s │ %7s │ %10s │ %9s │ %9s │ %12s%n",
+                "Approach", "Clients", "Ops/sec", "p50 ms", "p99 ms", "Peak threads");
+        for (int clients : CLIENTS) {
+            for (String approach : APPROACHES) {
+                Result result = switch (approach) {
+                    case "DDD+JDBC" -> runBlocking(dddJdbcRepo, ids, clients, TOTAL_OPS);
+                    case "DDD+JPA" -> runBlocking(dddJpaRepo, ids, clients, TOTAL_OPS);
+                    default -> runReactive(ids, clients, TOTAL_OPS);
+                };
+                System.out.printf("  %-10s │ %7d │ %10.0f │ %9.2f │ %9.2f │ %12d%n",
+                        approach, clients, result.opsPerSec(), result.p50Ms(), result.p99Ms(), result.peakThreads());
+                assertThat(result.completed()).isEqualTo(TOTAL_OPS / clients * clients);
+            }
+            System.out.println("  ───────────┼─────────┼────────────┼───────────┼───────────┼─────────────");
+        }
+    }
+
+    @Test
+    void reactiveRepositoryRoundTrip() {
+        dddR2dbcRepo.deleteAll().block();
+
+        Order order = newOrder("CUST-RT");
+        Order saved = dddR2dbcRepo.save(order).block();
+        assertThat(saved).isNotNull();
+        assertThat(saved.getVersion()).isZero();
+
+        // 與 blocking 方案讀寫同一份資料
+        Order viaJdbc = dddJdbcRepo.findById(order.getId()).orElseThrow();
+        assertThat(viaJdbc.getLineItems()).hasSize(ITEMS_PER_ORDER);
+        assertThat(viaJdbc.getTotalAmount()).isEqualByComparingTo(saved.getTotalAmount());
+
+        Order loaded = dddR2dbcRepo.findById(order.getId()).block();
+        assertThat(loaded).isNotNull();
+        assertThat(loaded.getLineItems()).hasSize(ITEMS_PER_ORDER);
+        loaded.submit();
+        assertThat(dddR2dbcRepo.save(loaded).block().getVersion()).isEqualTo(1);
+
+        // 表頭-only save：結果維持 lazy，不回查 line items
+        Order headerOnly = dddJdbcRepo.findByIdWithLazyLineItems(order.getId()).orElseThrow();
+        headerOnly.confirm();
+        Order confirmed = dddR2dbcRepo.save(headerOnly).block();
+        assertThat(confirmed.getVersion()).isEqualTo(2);
+        assertThat(confirmed.isLineItemsLoaded()).isFalse();
+        assertThat(confirmed.getLineItemCount()).isEqualTo(ITEMS_PER_ORDER);
+        assertThat(confirmed.getLineItems()).hasSize(ITEMS_PER_ORDER);
+        assertThat(dddR2dbcRepo.findById(order.getId()).block().getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+
+        for (int i = 0; i < 49; i++) {
+            dddR2dbcRepo.save(newOrder("CUST-STREAM-" + i)).block();
+        }
+
+        // 串流 + backpressure：每次只向上游要 10 個 Aggregate
+        List<Order> streamed = dddR2dbcRepo.findAll().limitRate(10).collectList().block(Duration.ofSeconds(30));
+        assertThat(streamed).hasSize(50);
+        assertThat(streamed).allSatisfy(o -> assertThat(o.getLineItems()).hasSize(ITEMS_PER_ORDER));
+
+        Integer updated = dddR2dbcRepo.bulkUpdateStatus(OrderStatus.DRAFT, OrderStatus.SUBMITTED).block();
+        assertThat(updated).isEqualTo(49);
+        Order draft = streamed.stream().filter(o -> o.getStatus() == OrderStatus.DRAFT).findFirst().orElseThrow();
+        Order bulkUpdated = dddJdbcRepo.findById(draft.getId()).orElseThrow();
+        assertThat(bulkUpdated.getStatus()).isEqualTo(OrderStatus.SUBMITTED);
+        assertThat(bulkUpdated.getVersion()).isEqualTo(draft.getVersion() + 1);
+    }
+
+    // ── Workloads ───────────────────────────────────────────────────────
+
+    /** 每個 client 一條 platform thread，依序執行 totalOps / clients 次 findById */
+    private Result runBlocking(OrderRepository repository, List<UUID> ids, int clients, int totalOps)
+            throws InterruptedException {
+        int opsPerClient = totalOps / clients;
+        long[] latencies = new long[opsPerClient * clients];
+        AtomicInteger completed = new AtomicInteger();
+        CountDownLatch ready = new CountDownLatch(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(clients);
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            Thread thread = new Thread(() -> {
+                try {
+                    ready.countDown();
+                    start.await();
+                    for (int i = 0; i < opsPerClient; i++) {
+                        UUID id = ids.get((client * opsPerClient + i) % ids.size());
+                        long begin = System.nanoTime();
+                        repository.findById(id).orElseThrow();
+                        latencies[client * opsPerClient + i] = System.nanoTime() - begin;
+                        completed.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.start();
+        }
+        ready.await();
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        return Result.of(latencies, completed.get(), elapsed, threads.getPeakThreadCount());
+    }
+
+    /** 每個 client 是一條依序執行的 reactive chain；flatMap 並行度 = clients，不額外開執行緒 */
+    private Result runReactive(List<UUID> ids, int clients, int totalOps) {
+        int opsPerClient = totalOps / clients;
+        long[] latencies = new long[opsPerClient * clients];
+        AtomicInteger completed = new AtomicInteger();
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        long begin = System.nanoTime();
+        Flux.range(0, clients)
+                .flatMap(client -> Flux.range(0, opsPerClient)
+                        .concatMap(i -> timed(dddR2dbcRepo.findById(ids.get((client * opsPerClient + i) % ids.size())),
+                                nanos -> {
+                                    latencies[client * opsPerClient + i] = nanos;
+                                    completed.incrementAndGet();
+                                })), clients)
+                .then()
+                .block(Duration.ofMinutes(5));
+        long elapsed = System.nanoTime() - begin;
+        return Result.of(latencies, completed.get(), elapsed, threads.getPeakThreadCount());
+    }
+
+    /** 從訂閱 (含等待連線) 到結果送達的時間，與 blocking 方案含 Hikari 等待的量法一致 */
+    private static <T> Mono<T> timed(Mono<T> source, Consumer<Long> recorder) {
+        return Mono.defer(() -> {
+            long begin = System.nanoTime();
+            return source.doOnNext(value -> recorder.accept(System.nanoTime() - begin));
+        });
+    }
+
+    private static Order newOrder(String customerId) {
+        Order order = Order.create(customerId);
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            order.addLineItem("P" + i, "Product " + i, 1 + i, BigDecimal.valueOf(10 + i));
+        }
+        return order;
+    }
+
+    private record Result(int completed, double opsPerSec, double p50Ms, double p99Ms, int peakThreads) {
+
+        static Result of(long[] latenciesNanos, int completed, long elapsedNanos, int peakThreads) {
+            long[] sorted = latenciesNanos.clone();
+            Arrays.sort(sorted);
+            return new Result(completed,
+                    completed / (elapsedNanos / 1_000_000_000.0),
+                    percentile(sorted, 0.50) / 1_000_000.0,
+                    percentile(sorted, 0.99) / 1_000_000.0,
+                    peakThreads);
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(sorted.length * p) - 1)];
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.poc.approach8_event_sourcing;
+
+import com.example.poc.approach8_event_sourcing.domain.EventSourcedOrder;
+import com.example.poc.approach8_event_sourcing.repository.EventSourcedOrderRepository;
+import com.example.poc.approach8_event_sourcing.repository.EventSourcedOrderRepository.StoredEvent;
+import com.example.poc.domain.model.Order;
+import com.example.poc.domain.model.OrderLineItem;
+import com.example.poc.domain.model.OrderStatus;
+import com.example.poc.domain.repository.OrderRepository;
+import com.example.poc.support.BenchmarkPostgres;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Event-sourced Order 的載入成本 — 事件數量 vs 重播時間，有/無 snapshot。
+ * <p>
+ * 每個事件數量建立一筆訂單 (20 個 LineItemAdded，其餘為 QuantityChanged)，以每次 100 個 command
+ * 分批 save，snapshot 依 {@code poc.event-sourcing.snapshot-interval} 自然產生。
+ * 比較 {@code findById} (snapshot + tail)、{@code findByIdFromEvents} (完整重播)
+ * 與相同最終狀態的 DDD+JDBC state-based 載入。
+ */
+@SpringBootTest
+class EventSourcingBenchmarkTest {
+
+    private static final int[] EVENT_COUNTS = {10, 100, 1_000, 10_000};
+    private static final int LINE_ITEMS = 20;
+    private static final int COMMANDS_PER_SAVE = 100;
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURE_ITERATIONS = 10;
+
+    /** -Dbenchmark.database / -Dbenchmark.postgres.config，同 RepositoryBenchmarkTest */
+    @RegisterExtension
+    static BenchmarkPostgres postgres = BenchmarkPostgres.fromSystemProperties();
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        postgres.registerDataSource(registry);
+    }
+
+    @Autowired
+    private EventSourcedOrderRepository eventStore;
+
+    @Autowired
+    @Qualifier("dddJdbcOrderRepository")
+    private OrderRepository dddJdbcRepo;
+
+    @Value("${poc.event-sourcing.snapshot-interval}")
+    private int snapshotInterval;
+
+    @Test
+    void loadLatencyByEventCount() {
+        eventStore.deleteAll();
+        dddJdbcRepo.deleteAll();
+
+        System.out.println("\n═══ Event-sourced findById vs event count (snapshot interval " + snapshotInterval + ") ═══");
+        System.out.printf("  %8s │ %13s │ %15s │ %13s │ %10s%n",
+                "Events", "Replay all ms", "Snapshot+tail ms", "DDD+JDBC ms", "Tail events");
+        for (int eventCount : EVENT_COUNTS) {
+            UUID id = seedOrder(eventCount);
+            assertThat(eventStore.countEvents(id)).isEqualTo(eventCount);
+
+            EventSourcedOrder replayed = eventStore.findByIdFromEvents(id).orElseThrow();
+            EventSourcedOrder fromSnapshot = eventStore.findById(id).orElseThrow();
+            assertSameState(fromSnapshot, replayed);
+            assertThat(replayed.getVersion()).isEqualTo(eventCount);
+
+            // 相同最終狀態的 state-based 基準
+            Order state = replayed.toOrder();
+            dddJdbcRepo.save(state);
+
+            double replayMs = measure(() -> eventStore.findByIdFromEvents(id).orElseThrow());
+            double snapshotMs = measure(() -> eventStore.findById(id).orElseThrow());
+            double stateMs = measure(() -> dddJdbcRepo.findById(id).orElseThrow());
+            int tail = snapshotInterval > 0 ? eventCount % snapshotInterval : eventCount;
+            System.out.printf("  %8d │ %13.2f │ %15.2f │ %13.2f │ %10d%n",
+                    eventCount, replayMs, snapshotMs, stateMs, tail);
+        }
+    }
+
+    @Test
+    void appendUsesSequenceAsConcurrencyToken() {
+        EventSourcedOrder order = EventSourcedOrder.create("CUST-ES");
+        order.addLineItem("P1", "Product 1", 2, new BigDecimal("10.00"));
+        eventStore.save(order);
+        assertThat(order.getVersion()).isEqualTo(2);
+
+        EventSourcedOrder first = eventStore.findById(order.getId()).orElseThrow();
+        EventSourcedOrder second = eventStore.findById(order.getId()).orElseThrow();
+        first.submit();
+        eventStore.save(first);
+
+        second.addLineItem("P2", "Product 2", 1, new BigDecimal("5.00"));
+        assertThatThrownBy(() -> eventStore.save(second))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+
+        // 失敗的 append 整批 rollback；事件歷史完整可稽核
+        List<StoredEvent> history = eventStore.findHistory(order.getId());
+        assertThat(history).extracting(StoredEvent::sequence).containsExactly(1, 2, 3);
+        assertThat(history).extracting(stored -> stored.event().type())
+                .containsExactly("OrderCreated", "LineItemAdded", "Submitted");
+
+        EventSourcedOrder reloaded = eventStore.findById(order.getId()).orElseThrow();
+        assertThat(reloaded.getStatus()).isEqualTo(OrderStatus.SUBMITTED);
+        assertThat(reloaded.getTotalAmount()).isEqualByComparingTo("20.00");
+        assertThat(reloaded.getLineItems()).hasSize(1);
+    }
+
+    /** 1 OrderCreated + LINE_ITEMS LineItemAdded + QuantityChanged 補滿 eventCount，每 COMMANDS_PER_SAVE 個 command save 一次 */
+    private UUID seedOrder(int eventCount) {
+        EventSourcedOrder order = EventSourcedOrder.create("CUST-ES-" + eventCount);
+        int items = Math.min(LINE_ITEMS, eventCount - 1);
+        for (int i = 1; i < eventCount; i++) {
+            if (i <= items) {
+                order.addLineItem("P" + i, "Product " + i, 1, BigDecimal.valueOf(10 + i));
+            } else {
+                List<OrderLineItem> lineItems = order.getLineItems();
+                OrderLineItem item = lineItems.get(i % lineItems.size());
+                order.updateLineItemQuantity(item.id(), 1 + i % 7);
+            }
+            if (order.getUncommittedEvents().size() >= COMMANDS_PER_SAVE) {
+                eventStore.save(order);
+            }
+        }
+        eventStore.save(order);
+        return order.getId();
+    }
+
+    private static void assertSameState(EventSourcedOrder actual, EventSourcedOrder expected) {
+        assertThat(actual.getVersion()).isEqualTo(expected.getVersion());
+        assertThat(actual.getStatus()).isEqualTo(expected.getStatus());
+        assertThat(actual.getTotalAmount()).isEqualByComparingTo(expected.getTotalAmount());
+        assertThat(actual.getLineItems()).containsExactlyElementsOf(expected.getLineItems());
+    }
+
+    private static double measure(Supplier<?> load) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            load.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            load.get();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / MEASURE_ITERATIONS;
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.poc.cache;
+
+import com.example.poc.DddRepositoryPocApplication;
+import com.example.poc.domain.model.Order;
+import com.example.poc.domain.model.OrderStatus;
+import com.example.poc.domain.repository.OrderRepository;
+import com.example.poc.support.BenchmarkPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cross-node cache invalidation — 兩個 ApplicationContext 共用同一個 PostgreSQL，
+ * 模擬兩個 app instance：node B 寫入後，量測 node A 的快取被 LISTEN/NOTIFY 清除的延遲。
+ */
+class CrossNodeCacheInvalidationTest {
+
+    private static final int LAG_SAMPLES = 50;
+
+    /** -Dbenchmark.database / -Dbenchmark.postgres.config，同 RepositoryBenchmarkTest */
+    @RegisterExtension
+    static BenchmarkPostgres postgres = BenchmarkPostgres.fromSystemProperties();
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode("node-a");
+        nodeB = startNode("node-b");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) nodeB.close();
+        if (nodeA != null) nodeA.close();
+    }
+
+    @Test
+    void saveOnOneNodeEvictsOtherNodesCache() throws InterruptedException {
+        CachingOrderRepository cacheA = nodeA.getBean("cachedDddJdbcOrderRepository", CachingOrderRepository.class);
+        OrderRepository repoB = nodeB.getBean("dddJdbcOrderRepository", OrderRepository.class);
+
+        Order order = Order.create("CUST-NODE");
+        order.addLineItem("P0", "Product 0", 1, BigDecimal.TEN);
+        UUID orderId = repoB.save(order).getId();
+
+        double[] lagsMs = new double[LAG_SAMPLES];
+        for (int i = 0; i < LAG_SAMPLES; i++) {
+            cacheA.findById(orderId).orElseThrow();
+            assertThat(cacheA.contains(orderId)).isTrue();
+
+            Order onB = repoB.findById(orderId).orElseThrow();
+            onB.addLineItem("P" + (i + 1), "Product " + (i + 1), 1, BigDecimal.TEN);
+            repoB.save(onB);
+            // save 返回時交易已 commit，NOTIFY 也已送出 — 延遲從這裡起算，不含寫入本身
+            long committedAt = System.nanoTime();
+
+            awaitTrue(() -> !cacheA.contains(orderId));
+            lagsMs[i] = (System.nanoTime() - committedAt) / 1_000_000.0;
+        }
+
+        Arrays.sort(lagsMs);
+        System.out.printf("[Cross-Node Invalidation] samples=%d  p50=%.2fms  p90=%.2fms  max=%.2fms%n",
+                LAG_SAMPLES, lagsMs[LAG_SAMPLES / 2], lagsMs[(int) (LAG_SAMPLES * 0.9)], lagsMs[LAG_SAMPLES - 1]);
+
+        // The cache must never serve the pre-write aggregate afterwards
+        assertThat(cacheA.findById(orderId).orElseThrow().getLineItems()).hasSize(LAG_SAMPLES + 1);
+    }
+
+    @Test
+    void bulkUpdateStatusSendsOneNotification() throws InterruptedException {
+        CachingOrderRepository cacheA = nodeA.getBean("cachedDddJpaOrderRepository", CachingOrderRepository.class);
+        OrderChangeListener listenerA = nodeA.getBean(OrderChangeListener.class);
+        OrderRepository repoB = nodeB.getBean("approach1OrderRepository", OrderRepository.class);
+
+        repoB.deleteAll();
+        long beforeSaves = listenerA.notificationsReceived();
+        UUID[] ids = new UUID[100];
+        for (int i = 0; i < ids.length; i++) {
+            Order order = Order.create("CUST-BULK");
+            order.addLineItem("P0", "Product 0", 1, BigDecimal.TEN);
+            ids[i] = repoB.save(order).getId();
+        }
+        // Let the per-save notifications drain before warming node A's cache
+        awaitTrue(() -> listenerA.notificationsReceived() - beforeSaves >= ids.length);
+        for (UUID id : ids) {
+            cacheA.findById(id).orElseThrow();
+        }
+        assertThat(ids).allMatch(cacheA::contains);
+
+        long before = listenerA.notificationsReceived();
+        repoB.bulkUpdateStatus(OrderStatus.DRAFT, OrderStatus.CANCELLED);
+
+        awaitTrue(() -> Arrays.stream(ids).noneMatch(cacheA::contains));
+        assertThat(listenerA.notificationsReceived() - before).isEqualTo(1);
+    }
+
+    @Test
+    void malformedPayloadInvalidatesAllAndListenerKeepsRunning() throws InterruptedException {
+        CachingOrderRepository cacheA = nodeA.getBean("cachedDddJdbcOrderRepository", CachingOrderRepository.class);
+        OrderChangeListener listenerA = nodeA.getBean(OrderChangeListener.class);
+        OrderRepository repoB = nodeB.getBean("dddJdbcOrderRepository", OrderRepository.class);
+        JdbcTemplate jdbcB = nodeB.getBean(JdbcTemplate.class);
+
+        Order order = Order.create("CUST-MALFORMED");
+        order.addLineItem("P0", "Product 0", 1, BigDecimal.TEN);
+        UUID orderId = repoB.save(order).getId();
+        cacheA.findById(orderId).orElseThrow();
+        assertThat(cacheA.contains(orderId)).isTrue();
+
+        // A status this node does not know, then a payload that is not an order id
+        jdbcB.queryForList("SELECT pg_notify(?, ?)", OrderChangePublisher.CHANNEL,
+                OrderChangePublisher.STATUS_PREFIX + "NO_SUCH_STATUS");
+        jdbcB.queryForList("SELECT pg_notify(?, ?)", OrderChangePublisher.CHANNEL, "not-an-order-id");
+        awaitTrue(() -> !cacheA.contains(orderId));
+        assertThat(listenerA.isRunning()).isTrue();
+
+        // A later valid notification is still applied
+        cacheA.findById(orderId).orElseThrow();
+        assertThat(cacheA.contains(orderId)).isTrue();
+        Order onB = repoB.findById(orderId).orElseThrow();
+        onB.addLineItem("P1", "Product 1", 1, BigDecimal.TEN);
+        repoB.save(onB);
+        awaitTrue(() -> !cacheA.contains(orderId));
+        assertThat(cacheA.findById(orderId).orElseThrow().getLineItems()).hasSize(2);
+    }
+
+    private static ConfigurableApplicationContext startNode(String name) {
+        // command-line args so they override application.properties
+        List<String> args = new ArrayList<>(List.of(postgres.dataSourceArgs()));
+        args.add("--spring.application.name=" + name);
+        args.add("--poc.cache.notify.enabled=true");
+        return new SpringApplicationBuilder(DddRepositoryPocApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met within 5s");
+            }
+            Thread.sleep(0, 100_000);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.poc.partitioning;
+
+import com.example.poc.DddRepositoryPocApplication;
+import com.example.poc.domain.model.Order;
+import com.example.poc.domain.model.OrderLineItem;
+import com.example.poc.domain.model.OrderStatus;
+import com.example.poc.domain.repository.OrderRepository;
+import com.example.poc.domain.repository.ReactiveOrderRepository;
+import com.example.poc.partitioning.OrderPartitionMaintenance.MaintenanceResult;
+import com.example.poc.support.BenchmarkPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Heap vs monthly range-partitioned {@code orders} / {@code order_line_items} — 同一份程式碼，兩個 ApplicationContext：
+ * 預設 schema 與 {@code partitioned} profile 各使用自己的 PostgreSQL。
+ * <p>
+ * 兩邊以相同的 generate_series 資料 (最近 360 天，每筆 5 items) 比較：最近訂單查詢、最近 30 天與全表的批次狀態更新，
+ * 以及分區的代價 — 只有 id 的 findById 無法 partition pruning。另驗證每個 DDD 方案在分區 schema 上不需修改即可運作，
+ * 以及分區維護 (預建未來月份、detach 過期月份)。
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class PartitionedSchemaBenchmarkTest {
+
+    /** -Dbenchmark.partitioning.orders=1000000 */
+    private static final int ORDERS = Integer.getInteger("benchmark.partitioning.orders", 200_000);
+    private static final int ITEMS_PER_ORDER = 5;
+    private static final int LOOKUP_SAMPLES = 200;
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURE_ITERATIONS = 10;
+
+    private static final String RECENT_ORDERS_SQL = """
+            SELECT o.id, o.customer_id, o.total_amount, o.created_at,
+                   (SELECT COUNT(*) FROM order_line_items li
+                    WHERE li.order_id = o.id AND li.order_created_at = o.created_at) AS item_count
+            FROM orders o
+            WHERE o.created_at >= LOCALTIMESTAMP - INTERVAL '7 days' AND o.status = 'SUBMITTED'
+            ORDER BY o.created_at DESC
+            LIMIT 50
+            """;
+    private static final String RECENT_BULK_STATUS_SQL = """
+            UPDATE orders SET status = ?, updated_at = LOCALTIMESTAMP, version = version + 1
+            WHERE status = ? AND created_at >= LOCALTIMESTAMP - INTERVAL '30 days'
+            """;
+
+    /** -Dbenchmark.database / -Dbenchmark.postgres.config，同 RepositoryBenchmarkTest；兩邊套用同一組設定 */
+    @RegisterExtension
+    static BenchmarkPostgres heapDb = BenchmarkPostgres.fromSystemProperties();
+
+    @RegisterExtension
+    static BenchmarkPostgres partitionedDb = BenchmarkPostgres.fromSystemProperties();
+
+    private static ConfigurableApplicationContext heap;
+    private static ConfigurableApplicationContext partitioned;
+
+    @BeforeAll
+    static void startContexts() {
+        heap = start(heapDb);
+        partitioned = start(partitionedDb, "--spring.profiles.active=partitioned");
+    }
+
+    @AfterAll
+    static void stopContexts() {
+        if (partitioned != null) partitioned.close();
+        if (heap != null) heap.close();
+    }
+
+    @Test
+    @org.junit.jupiter.api.Order(1)
+    void everyApproachWorksUnchangedOnPartitionedSchema() {
+        JdbcTemplate jdbc = partitioned.getBean(JdbcTemplate.class);
+        for (String bean : List.of("approach1OrderRepository", "dddJdbcOrderRepository", "dddJdbcUnnestOrderRepository",
+                "dddJdbcJsonAggOrderRepository", "dddSpringDataJdbcOrderRepository")) {
+            OrderRepository repository = partitioned.getBean(bean, OrderRepository.class);
+            assertRoundTrip(bean, repository::save, id -> repository.findById(id).orElseThrow(), jdbc);
+        }
+        ReactiveOrderRepository reactive = partitioned.getBean("dddR2dbcOrderRepository", ReactiveOrderRepository.class);
+        assertRoundTrip("dddR2dbcOrderRepository", order -> reactive.save(order).block(),
+                id -> reactive.findById(id).block(), jdbc);
+    }
+
+    @Test
+    @org.junit.jupiter.api.Order(2)
+    void recentOrdersAndBulkStatusUpdates() {
+        seed(heap);
+        seed(partitioned);
+        int partitions = partitioned.getBean(OrderPartitionMaintenance.class).attachedMonths().size();
+
+        System.out.printf("%n═══ Heap vs monthly partitions (%d orders × %d items, %d monthly partitions + default) ═══%n",
+                ORDERS, ITEMS_PER_ORDER, partitions);
+        System.out.printf("  %-36s │ %12s │ %14s%n", "Operation", "Heap", "Partitioned");
+        printRow("Recent orders (7 days, top 50)", ctx -> {
+            JdbcTemplate jdbc = ctx.getBean(JdbcTemplate.class);
+            return () -> jdbc.queryForList(RECENT_ORDERS_SQL);
+        });
+        printRow("Bulk status, last 30 days (SQL)", ctx -> {
+            JdbcTemplate jdbc = ctx.getBean(JdbcTemplate.class);
+            boolean[] forward = {true};
+            return () -> {
+                OrderStatus from = forward[0] ? OrderStatus.DRAFT : OrderStatus.CANCELLED;
+                OrderStatus to = forward[0] ? OrderStatus.CANCELLED : OrderStatus.DRAFT;
+                jdbc.update(RECENT_BULK_STATUS_SQL, to.name(), from.name());
+                forward[0] = !forward[0];
+            };
+        });
+        printRow("Bulk status, all months (DDD+JPA)", ctx -> {
+            OrderRepository repository = ctx.getBean("approach1OrderRepository", OrderRepository.class);
+            boolean[] forward = {true};
+            return () -> {
+                if (forward[0]) {
+                    repository.bulkUpdateStatus(OrderStatus.DRAFT, OrderStatus.CANCELLED);
+                } else {
+                    repository.bulkUpdateStatus(OrderStatus.CANCELLED, OrderStatus.DRAFT);
+                }
+                forward[0] = !forward[0];
+            };
+        });
+        printRow("findById × " + LOOKUP_SAMPLES + " (DDD+JDBC, no pruning)", ctx -> {
+            OrderRepository repository = ctx.getBean("dddJdbcOrderRepository", OrderRepository.class);
+            List<UUID> sampleIds = ctx.getBean(JdbcTemplate.class).queryForList(
+                    "SELECT id FROM orders ORDER BY random() LIMIT ?", UUID.class, LOOKUP_SAMPLES);
+            return () -> sampleIds.forEach(id -> repository.findById(id).orElseThrow());
+        });
+        printRow("save new order, 5 items (DDD+JDBC)", ctx -> {
+            OrderRepository repository = ctx.getBean("dddJdbcOrderRepository", OrderRepository.class);
+            return () -> repository.save(newOrder("CUST-BENCH"));
+        });
+    }
+
+    @Test
+    @org.junit.jupiter.api.Order(3)
+    void maintenanceCreatesFutureAndDetachesExpiredMonths() {
+        OrderPartitionMaintenance maintenance = partitioned.getBean(OrderPartitionMaintenance.class);
+        JdbcTemplate jdbc = partitioned.getBean(JdbcTemplate.class);
+        YearMonth now = YearMonth.now();
+        YearMonth oldest = maintenance.attachedMonths().first();
+        long ordersBefore = count(jdbc, "SELECT COUNT(*) FROM orders");
+        long expiring = count(jdbc, "SELECT COUNT(*) FROM " + OrderPartitionMaintenance.partitionName("orders", oldest));
+
+        // 模擬時間前進一個月：最舊的月份過期，並多預建一個月
+        MaintenanceResult result = maintenance.maintain(now.plusMonths(1));
+
+        assertThat(result.detached()).containsExactly(oldest);
+        assertThat(result.created()).containsExactly(now.plusMonths(4));
+        assertThat(maintenance.attachedMonths()).doesNotContain(oldest).contains(now.plusMonths(4));
+        assertThat(count(jdbc, "SELECT COUNT(*) FROM orders")).isEqualTo(ordersBefore - expiring);
+        // Detach 後仍是一般資料表，資料保留供封存
+        assertThat(count(jdbc, "SELECT COUNT(*) FROM " + OrderPartitionMaintenance.partitionName("orders", oldest)))
+                .isEqualTo(expiring);
+        assertThat(count(jdbc, """
+                SELECT COUNT(*) FROM order_line_items li
+                WHERE NOT EXISTS (SELECT 1 FROM orders o WHERE o.id = li.order_id)
+                """)).isZero();
+        assertThat(maintenance.maintain(now.plusMonths(1))).isEqualTo(new MaintenanceResult(List.of(), List.of()));
+        System.out.printf("[Partition maintenance] detached %s (%d orders), created %s%n",
+                result.detached(), expiring, result.created());
+    }
+
+    // ── helpers ──────────────────────────────────────────────────────────
+
+    private static void assertRoundTrip(String name, Function<Order, Order> save, Function<UUID, Order> load,
+                                        JdbcTemplate jdbc) {
+        Order saved = save.apply(newOrder("CUST-" + name));
+        Order loaded = load.apply(saved.getId());
+        assertThat(loaded.getLineItems()).as(name).hasSize(ITEMS_PER_ORDER);
+
+        OrderLineItem first = loaded.getLineItems().getFirst();
+        loaded.updateLineItemQuantity(first.id(), 7);
+        loaded.removeLineItem(loaded.getLineItems().getLast().id());
+        save.apply(loaded);
+
+        Order reloaded = load.apply(saved.getId());
+        assertThat(reloaded.getLineItems()).as(name).hasSize(ITEMS_PER_ORDER - 1);
+        assertThat(reloaded.getLineItems()).as(name)
+                .filteredOn(item -> item.id().equals(first.id()))
+                .extracting(OrderLineItem::quantity).containsExactly(7);
+
+        // 表頭與 items 落在同一個月分區
+        YearMonth month = YearMonth.from(reloaded.getCreatedAt());
+        assertThat(jdbc.queryForObject("SELECT tableoid::regclass::text FROM orders WHERE id = ?",
+                String.class, saved.getId())).as(name)
+                .isEqualTo(OrderPartitionMaintenance.partitionName("orders", month));
+        assertThat(jdbc.queryForList("SELECT DISTINCT tableoid::regclass::text FROM order_line_items WHERE order_id = ?",
+                String.class, saved.getId())).as(name)
+                .containsExactly(OrderPartitionMaintenance.partitionName("order_line_items", month));
+    }
+
+    private static Order newOrder(String customerId) {
+        Order order = Order.create(customerId);
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            order.addLineItem("P" + i, "Product " + i, 1 + i, BigDecimal.valueOf(10 + i));
+        }
+        return order;
+    }
+
+    /** 相同的資料：created_at 分布在最近 360 天，status 輪流 DRAFT / SUBMITTED / CONFIRMED */
+    private static void seed(ConfigurableApplicationContext context) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        jdbc.execute("TRUNCATE order_line_items, orders, order_summary");
+        jdbc.update("""
+                INSERT INTO orders (id, customer_id, status, total_amount, created_at, updated_at, version)
+                SELECT gen_random_uuid(), 'CUST-' || (g % 5000), (ARRAY['DRAFT', 'SUBMITTED', 'CONFIRMED'])[1 + g % 3],
+                       0, LOCALTIMESTAMP - (g % 360) * INTERVAL '1 day' - (g % 86400) * INTERVAL '1 second',
+                       LOCALTIMESTAMP, 0
+                FROM generate_series(1, ?) g
+                """, ORDERS);
+        jdbc.update("""
+                INSERT INTO order_line_items (id, order_id, order_created_at, product_id, product_name,
+                                              quantity, unit_price, subtotal)
+                SELECT gen_random_uuid(), o.id, o.created_at, 'P' || i, 'Product ' || i,
+                       1 + i, 10 + i, (1 + i) * (10 + i)
+                FROM orders o CROSS JOIN generate_series(0, ? - 1) i
+                """, ITEMS_PER_ORDER);
+        jdbc.execute("ANALYZE orders, order_line_items");
+    }
+
+    private static void printRow(String operation, Function<ConfigurableApplicationContext, Runnable> action) {
+        double heapMs = measureAvg(action.apply(heap));
+        double partitionedMs = measureAvg(action.apply(partitioned));
+        System.out.printf("  %-36s │ %9.2f ms │ %11.2f ms%n", operation, heapMs, partitionedMs);
+    }
+
+    private static double measureAvg(Runnable action) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            action.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            action.run();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / MEASURE_ITERATIONS;
+    }
+
+    private static long count(JdbcTemplate jdbc, String sql) {
+        Long count = jdbc.queryForObject(sql, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private static ConfigurableApplicationContext start(BenchmarkPostgres postgres, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(postgres.dataSourceArgs()));
+        args.addAll(List.of(extraArgs));
+        return new SpringApplicationBuilder(DddRepositoryPocApplication.class)
+                .web(WebApplicationType.NONE)
+                // command-line args so they override application.properties
+                .run(args.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.poc.readmodel;
+
+import com.example.poc.DddRepositoryPocApplication;
+import com.example.poc.domain.model.Order;
+import com.example.poc.domain.repository.OrderRepository;
+import com.example.poc.support.BenchmarkPostgres;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Read Model 維護策略的持續負載比較 — OFF / SYNC (同交易 upsert) / ASYNC (outbox + projector)。
+ * <p>
+ * 每個模式啟動獨立的 ApplicationContext，以 {@code WRITERS} 條執行緒持續 save 新訂單
+ * {@code benchmark.outbox.seconds} 秒，報告寫入延遲 (write-path overhead)；
+ * ASYNC 另外抽樣量測 commit 到 {@code order_summary} 可見的端到端延遲 (projection lag)。
+ */
+class ReadModelOutboxLoadTest {
+
+    private static final int WRITERS = 4;
+    private static final int ITEMS_PER_ORDER = 5;
+    private static final int LAG_SAMPLE_EVERY = 10;
+    private static final long DURATION_MILLIS = Long.getLong("benchmark.outbox.seconds", 10) * 1000;
+
+    /** -Dbenchmark.database / -Dbenchmark.postgres.config，同 RepositoryBenchmarkTest */
+    @RegisterExtension
+    static BenchmarkPostgres postgres = BenchmarkPostgres.fromSystemProperties();
+
+    @Test
+    void writeOverheadAndProjectionLag() throws Exception {
+        System.out.println("\n═══ Read Model maintenance under sustained load ═══");
+        System.out.printf("  %-6s │ %8s │ %9s │ %9s │ %9s │ %13s │ %13s │ %9s%n",
+                "Mode", "Writes", "Ops/sec", "Avg ms", "p99 ms", "Lag p50 ms", "Lag p99 ms", "Backlog");
+
+        for (OrderSummaryProjection.ReadModelMode mode : OrderSummaryProjection.ReadModelMode.values()) {
+            try (ConfigurableApplicationContext context = startContext(mode)) {
+                runLoad(context, mode);
+            }
+        }
+    }
+
+    private void runLoad(ConfigurableApplicationContext context, OrderSummaryProjection.ReadModelMode mode)
+            throws Exception {
+        OrderRepository repository = context.getBean("dddJdbcOrderRepository", OrderRepository.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        repository.deleteAll();
+
+        boolean async = mode == OrderSummaryProjection.ReadModelMode.ASYNC;
+        ConcurrentLinkedQueue<long[]> latenciesNanos = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<PendingSample> pending = new ConcurrentLinkedQueue<>();
+        List<Double> lagsMs = new ArrayList<>();
+
+        long deadline = System.nanoTime() + DURATION_MILLIS * 1_000_000;
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 1);
+        CountDownLatch writersDone = new CountDownLatch(WRITERS);
+        for (int w = 0; w < WRITERS; w++) {
+            executor.submit(() -> {
+                try {
+                    long[] local = new long[1 << 20];
+                    int n = 0;
+                    while (System.nanoTime() < deadline && n < local.length) {
+                        Order order = Order.create("CUST-LOAD");
+                        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+                            order.addLineItem("P" + i, "Product " + i, 1 + i, BigDecimal.valueOf(10 + i));
+                        }
+                        long start = System.nanoTime();
+                        Order saved = repository.save(order);
+                        long end = System.nanoTime();
+                        local[n++] = end - start;
+                        if (async && n % LAG_SAMPLE_EVERY == 0) {
+                            pending.add(new PendingSample(saved.getId(), saved.getVersion(), end));
+                        }
+                    }
+                    latenciesNanos.add(Arrays.copyOf(local, n));
+                } finally {
+                    writersDone.countDown();
+                }
+            });
+        }
+
+        if (async) {
+            // Lag checker: one batched lookup per tick, so each sample's lag is bounded by the tick, not by queue order
+            executor.submit(() -> {
+                List<PendingSample> waiting = new ArrayList<>();
+                while (writersDone.getCount() > 0 || !pending.isEmpty() || !waiting.isEmpty()) {
+                    PendingSample next;
+                    while ((next = pending.poll()) != null) {
+                        waiting.add(next);
+                    }
+                    if (!waiting.isEmpty()) {
+                        Map<UUID, Integer> projected = projectedVersions(jdbcTemplate, waiting);
+                        long now = System.nanoTime();
+                        for (Iterator<PendingSample> it = waiting.iterator(); it.hasNext(); ) {
+                            PendingSample sample = it.next();
+                            Integer version = projected.get(sample.orderId());
+                            if (version != null && version >= sample.version()) {
+                                synchronized (lagsMs) {
+                                    lagsMs.add((now - sample.committedAtNanos()) / 1_000_000.0);
+                                }
+                                it.remove();
+                            }
+                        }
+                    }
+                    sleepQuietly(2);
+                }
+                return null;
+            });
+        }
+
+        writersDone.await();
+        long backlogAtStop = async ? context.getBean(OrderEventOutbox.class).pendingCount() : 0;
+        executor.shutdown();
+        assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+
+        long[] all = latenciesNanos.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        double avgMs = Arrays.stream(all).average().orElse(0) / 1_000_000.0;
+        double p99Ms = all.length == 0 ? 0 : all[(int) Math.min(all.length - 1, Math.ceil(all.length * 0.99) - 1)] / 1_000_000.0;
+        double opsPerSec = all.length / (DURATION_MILLIS / 1000.0);
+
+        double[] lags = lagsMs.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+        System.out.printf("  %-6s │ %8d │ %9.0f │ %9.2f │ %9.2f │ %13s │ %13s │ %9s%n",
+                mode, all.length, opsPerSec, avgMs, p99Ms,
+                async ? String.format("%.1f", percentile(lags, 0.50)) : "-",
+                async ? String.format("%.1f", percentile(lags, 0.99)) : "-",
+                async ? String.valueOf(backlogAtStop) : "-");
+
+        if (async) {
+            OrderEventOutbox outbox = context.getBean(OrderEventOutbox.class);
+            long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (outbox.pendingCount() > 0 && System.nanoTime() < drainDeadline) {
+                sleepQuietly(10);
+            }
+            System.out.printf("           projector: %s%n", context.getBean(OrderEventProjector.class).stats());
+            assertThat(outbox.pendingCount()).isZero();
+        }
+        if (mode != OrderSummaryProjection.ReadModelMode.OFF) {
+            Long summaryRows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_summary", Long.class);
+            assertThat(summaryRows).isEqualTo(all.length);
+        }
+    }
+
+    private Map<UUID, Integer> projectedVersions(JdbcTemplate jdbcTemplate, List<PendingSample> samples) {
+        UUID[] ids = samples.stream().map(PendingSample::orderId).toArray(UUID[]::new);
+        Map<UUID, Integer> versions = new HashMap<>();
+        jdbcTemplate.query("SELECT id, version FROM order_summary WHERE id = ANY(?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids)),
+                rs -> {
+                    versions.put(rs.getObject("id", UUID.class), rs.getInt("version"));
+                });
+        return versions;
+    }
+
+    private static double percentile(double[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(sorted.length * p) - 1)];
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ConfigurableApplicationContext startContext(OrderSummaryProjection.ReadModelMode mode) {
+        List<String> args = new ArrayList<>(List.of(postgres.dataSourceArgs()));
+        args.add("--poc.read-model.mode=" + mode.name());
+        return new SpringApplicationBuilder(DddRepositoryPocApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+    }
+
+    private record PendingSample(UUID orderId, int version, long committedAtNanos) {}
+}
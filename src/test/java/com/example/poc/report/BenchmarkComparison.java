@@ -0,0 +1,211 @@
+package com.example.poc.report;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 比較兩份 {@code benchmark-results.json} (RepositoryBenchmarkTest 每次執行輸出)，逐一場景 × 方案判斷是否退步。
+ * <p>
+ * 每個格子以平均、標準差與次數做單尾 Welch's t-test (H1: current 較慢)；p 值低於 {@code alpha}
+ * 且平均值變化超過 {@code minChange} 才算 regression — 兩個條件缺一，100 次量測的小幅抖動或
+ * 顯著但無感的差異都不會被標記。改善以相同規則反向判斷。
+ * <p>
+ * 命令列：{@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.poc.report.BenchmarkComparison -Dexec.args="baseline.json target/benchmark-results.json"}
+ */
+public final class BenchmarkComparison {
+
+    public static final double DEFAULT_ALPHA = 0.01;
+    public static final double DEFAULT_MIN_CHANGE = 0.05;
+
+    public enum Verdict { REGRESSION, IMPROVEMENT, UNCHANGED, NEW, MISSING }
+
+    public record Cell(String scenario, String approach, long baselineCount, double baselineMean,
+                       long currentCount, double currentMean, double change, double pValue, Verdict verdict) {}
+
+    private BenchmarkComparison() {
+    }
+
+    public static List<Cell> compare(JsonNode baseline, JsonNode current, double alpha, double minChange) {
+        Map<String, JsonNode> baselineRows = index(baseline);
+        Map<String, JsonNode> currentRows = index(current);
+        List<Cell> cells = new ArrayList<>();
+        for (var entry : currentRows.entrySet()) {
+            JsonNode now = entry.getValue();
+            JsonNode before = baselineRows.get(entry.getKey());
+            if (before == null) {
+                cells.add(new Cell(now.get("scenario").asString(), now.get("approach").asString(), 0, Double.NaN,
+                        count(now), mean(now), Double.NaN, Double.NaN, Verdict.NEW));
+                continue;
+            }
+            double change = mean(now) / mean(before) - 1;
+            double slower = welchUpperTail(before, now);
+            double faster = welchUpperTail(now, before);
+            Verdict verdict = slower < alpha && change > minChange ? Verdict.REGRESSION
+                    : faster < alpha && change < -minChange ? Verdict.IMPROVEMENT
+                    : Verdict.UNCHANGED;
+            cells.add(new Cell(now.get("scenario").asString(), now.get("approach").asString(), count(before),
+                    mean(before), count(now), mean(now), change, Math.min(slower, faster), verdict));
+        }
+        for (var entry : baselineRows.entrySet()) {
+            if (!currentRows.containsKey(entry.getKey())) {
+                JsonNode before = entry.getValue();
+                cells.add(new Cell(before.get("scenario").asString(), before.get("approach").asString(),
+                        count(before), mean(before), 0, Double.NaN, Double.NaN, Double.NaN, Verdict.MISSING));
+            }
+        }
+        return cells;
+    }
+
+    /** 印出比較表與兩次執行環境的差異 (JVM / database backend 與設定 / PostgreSQL / datasource 不同時數字不可直接比較) */
+    public static void print(JsonNode baseline, JsonNode current, List<Cell> cells, double alpha, double minChange) {
+        System.out.printf("%n═══ Baseline comparison (one-sided Welch t-test, α = %s, |Δ| > %.0f%%) ═══%n",
+                alpha, minChange * 100);
+        for (String key : List.of("javaVersion", "database", "postgres", "datasource", "profiles")) {
+            String before = baseline.path("run").path(key).asString("");
+            String now = current.path("run").path(key).asString("");
+            if (!Objects.equals(before, now)) {
+                System.out.printf("  ⚠ %s differs: baseline [%s] vs current [%s]%n", key, before, now);
+            }
+        }
+        System.out.printf("  %-30s │ %-14s │ %11s │ %11s │ %8s │ %9s │ %-11s%n",
+                "Scenario", "Approach", "baseline ms", "current ms", "Δ", "p", "verdict");
+        for (Cell cell : cells) {
+            if (cell.verdict() == Verdict.UNCHANGED) {
+                continue;
+            }
+            System.out.printf("  %-30s │ %-14s │ %11.2f │ %11.2f │ %+7.1f%% │ %9.2g │ %-11s%n",
+                    cell.scenario(), cell.approach(), cell.baselineMean(), cell.currentMean(),
+                    cell.change() * 100, cell.pValue(), cell.verdict());
+        }
+        long regressions = cells.stream().filter(c -> c.verdict() == Verdict.REGRESSION).count();
+        long improvements = cells.stream().filter(c -> c.verdict() == Verdict.IMPROVEMENT).count();
+        System.out.printf("  %d regressions, %d improvements, %d unchanged%n", regressions, improvements,
+                cells.stream().filter(c -> c.verdict() == Verdict.UNCHANGED).count());
+    }
+
+    public static JsonNode read(Path file) {
+        return JsonMapper.shared().readTree(file.toFile());
+    }
+
+    /** 結束碼 1 = 至少一個 regression，方便接在 CI 後面 */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("usage: BenchmarkComparison <baseline.json> <current.json> [alpha] [minChange]");
+            System.exit(2);
+        }
+        double alpha = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_ALPHA;
+        double minChange = args.length > 3 ? Double.parseDouble(args[3]) : DEFAULT_MIN_CHANGE;
+        if (!Files.exists(Path.of(args[0])) || !Files.exists(Path.of(args[1]))) {
+            System.err.println("missing results file: " + args[0] + " / " + args[1]);
+            System.exit(2);
+        }
+        JsonNode baseline = read(Path.of(args[0]));
+        JsonNode current = read(Path.of(args[1]));
+        List<Cell> cells = compare(baseline, current, alpha, minChange);
+        print(baseline, current, cells, alpha, minChange);
+        System.exit(cells.stream().anyMatch(c -> c.verdict() == Verdict.REGRESSION) ? 1 : 0);
+    }
+
+    // ── Statistics ──────────────────────────────────────────────────────
+
+    /** P(T > t) for H1: mean(b) > mean(a)，Welch–Satterthwaite 自由度 */
+    static double welchUpperTail(JsonNode a, JsonNode b) {
+        double varA = Math.pow(stddev(a), 2) / count(a);
+        double varB = Math.pow(stddev(b), 2) / count(b);
+        if (count(a) < 2 || count(b) < 2 || varA + varB == 0) {
+            return mean(b) > mean(a) ? 0 : 1;
+        }
+        double t = (mean(b) - mean(a)) / Math.sqrt(varA + varB);
+        double df = Math.pow(varA + varB, 2)
+                / (varA * varA / (count(a) - 1) + varB * varB / (count(b) - 1));
+        return studentTUpperTail(t, df);
+    }
+
+    static double studentTUpperTail(double t, double df) {
+        double tail = 0.5 * regularizedIncompleteBeta(df / (df + t * t), df / 2, 0.5);
+        return t > 0 ? tail : 1 - tail;
+    }
+
+    /** I_x(a, b)，continued fraction (Lentz) — Numerical Recipes betai / betacf */
+    static double regularizedIncompleteBeta(double x, double a, double b) {
+        if (x <= 0) return 0;
+        if (x >= 1) return 1;
+        if (x > (a + 1) / (a + b + 2)) {
+            return 1 - regularizedIncompleteBeta(1 - x, b, a);
+        }
+        double front = Math.exp(logGamma(a + b) - logGamma(a) - logGamma(b) + a * Math.log(x) + b * Math.log(1 - x));
+        double tiny = 1e-300;
+        double c = 1;
+        double d = 1 - (a + b) * x / (a + 1);
+        d = 1 / (Math.abs(d) < tiny ? tiny : d);
+        double f = d;
+        for (int m = 1; m <= 300; m++) {
+            int m2 = 2 * m;
+            double even = m * (b - m) * x / ((a + m2 - 1) * (a + m2));
+            d = 1 / nonZero(1 + even * d, tiny);
+            c = nonZero(1 + even / c, tiny);
+            f *= d * c;
+            double odd = -(a + m) * (a + b + m) * x / ((a + m2) * (a + m2 + 1));
+            d = 1 / nonZero(1 + odd * d, tiny);
+            c = nonZero(1 + odd / c, tiny);
+            double delta = d * c;
+            f *= delta;
+            if (Math.abs(delta - 1) < 1e-12) {
+                break;
+            }
+        }
+        return front * f / a;
+    }
+
+    private static double nonZero(double value, double tiny) {
+        return Math.abs(value) < tiny ? tiny : value;
+    }
+
+    /** Lanczos approximation (g = 7, n = 9) */
+    static double logGamma(double x) {
+        double[] coefficients = {0.99999999999980993, 676.5203681218851, -1259.1392167224028, 771.32342877765313,
+                -176.61502916214059, 12.507343278686905, -0.13857109526572012, 9.9843695780195716e-6,
+                1.5056327351493116e-7};
+        if (x < 0.5) {
+            return Math.log(Math.PI / Math.abs(Math.sin(Math.PI * x))) - logGamma(1 - x);
+        }
+        x -= 1;
+        double sum = coefficients[0];
+        for (int i = 1; i < coefficients.length; i++) {
+            sum += coefficients[i] / (x + i);
+        }
+        double t = x + 7.5;
+        return 0.5 * Math.log(2 * Math.PI) + (x + 0.5) * Math.log(t) - t + Math.log(sum);
+    }
+
+    // ── JSON access (schema written by RepositoryBenchmarkTest#exportResults) ──
+
+    private static Map<String, JsonNode> index(JsonNode run) {
+        Map<String, JsonNode> rows = new LinkedHashMap<>();
+        for (JsonNode row : run.path("results")) {
+            rows.put(row.get("scenario").asString() + " / " + row.get("approach").asString(), row);
+        }
+        return rows;
+    }
+
+    private static long count(JsonNode row) {
+        return row.path("latencyMs").path("count").asLong();
+    }
+
+    private static double mean(JsonNode row) {
+        return row.path("latencyMs").path("mean").asDouble();
+    }
+
+    private static double stddev(JsonNode row) {
+        return row.path("latencyMs").path("stddev").asDouble();
+    }
+}
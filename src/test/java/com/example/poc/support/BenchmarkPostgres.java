@@ -0,0 +1,175 @@
+package com.example.poc.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmark 用的 PostgreSQL：{@code -Dbenchmark.database=testcontainers} (預設，{@code postgres:16-alpine})
+ * 或 {@code embedded} (zonky embedded-postgres，同一個 major 版本的 binaries 直接在本機啟動，不需要 Docker daemon)。
+ * <p>
+ * 兩種 backend 套用同一組 server 設定：{@link #DEFAULT_CONFIG} (Testcontainers image 的預設值，embedded 預設的
+ * {@code synchronous_commit=off} / {@code max_connections=300} 會被蓋掉) 加上
+ * {@code -Dbenchmark.postgres.config=shared_buffers=512MB,fsync=on,synchronous_commit=off}，
+ * 因此同一組參數在有無 Docker 的主機上量到的是同一個設定；實際生效的值由報表從 {@code pg_settings} 讀回。
+ * <p>
+ * JUnit：{@code @RegisterExtension static BenchmarkPostgres postgres = BenchmarkPostgres.fromSystemProperties();}
+ * 搭配 {@code @DynamicPropertySource} 呼叫 {@link #registerDataSource}；其他場合直接 {@link #start()} / {@link #stop()}。
+ * embedded 的 initdb 不能以 root 執行。
+ */
+public final class BenchmarkPostgres implements BeforeAllCallback, AfterAllCallback {
+
+    public enum Backend { TESTCONTAINERS, EMBEDDED }
+
+    /** 與 postgres:16-alpine + Testcontainers 的預設一致 (Testcontainers 預設以 {@code -c fsync=off} 啟動) */
+    public static final Map<String, String> DEFAULT_CONFIG = Map.of(
+            "fsync", "off",
+            "synchronous_commit", "on",
+            "shared_buffers", "128MB",
+            "max_connections", "100");
+
+    private static final String IMAGE = "postgres:16-alpine";
+
+    private final Backend backend;
+    private final Map<String, String> config;
+    private PostgreSQLContainer<?> container;
+    private EmbeddedPostgres embedded;
+
+    public BenchmarkPostgres(Backend backend, Map<String, String> overrides) {
+        this.backend = backend;
+        this.config = new TreeMap<>(DEFAULT_CONFIG);
+        this.config.putAll(overrides);
+    }
+
+    /** {@code -Dbenchmark.database} 與 {@code -Dbenchmark.postgres.config} */
+    public static BenchmarkPostgres fromSystemProperties() {
+        Backend backend = Backend.valueOf(
+                System.getProperty("benchmark.database", "testcontainers").trim().toUpperCase(Locale.ROOT));
+        return new BenchmarkPostgres(backend, parseConfig(System.getProperty("benchmark.postgres.config", "")));
+    }
+
+    public synchronized void start() {
+        if (isRunning()) {
+            return;
+        }
+        switch (backend) {
+            case TESTCONTAINERS -> {
+                List<String> command = new ArrayList<>(List.of("postgres"));
+                config.forEach((name, value) -> command.addAll(List.of("-c", name + "=" + value)));
+                container = new PostgreSQLContainer<>(IMAGE).withCommand(command.toArray(String[]::new));
+                container.start();
+            }
+            case EMBEDDED -> {
+                try {
+                    EmbeddedPostgres.Builder builder = EmbeddedPostgres.builder();
+                    config.forEach(builder::setServerConfig);
+                    embedded = builder.start();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot start embedded PostgreSQL", e);
+                }
+            }
+        }
+    }
+
+    public synchronized void stop() {
+        if (container != null) {
+            container.stop();
+            container = null;
+        }
+        if (embedded != null) {
+            try {
+                embedded.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot stop embedded PostgreSQL", e);
+            } finally {
+                embedded = null;
+            }
+        }
+    }
+
+    public boolean isRunning() {
+        return container != null || embedded != null;
+    }
+
+    public String jdbcUrl() {
+        return container != null ? container.getJdbcUrl() : embedded.getJdbcUrl("postgres", "postgres");
+    }
+
+    public String username() {
+        return container != null ? container.getUsername() : "postgres";
+    }
+
+    public String password() {
+        return container != null ? container.getPassword() : "";
+    }
+
+    public Backend backend() {
+        return backend;
+    }
+
+    /** 啟動時要求的 server 設定 (預設值 + 覆寫)，依名稱排序 */
+    public Map<String, String> config() {
+        return Collections.unmodifiableMap(config);
+    }
+
+    /** 例如 {@code embedded [fsync=off, max_connections=100, shared_buffers=128MB, synchronous_commit=on]} */
+    public String describe() {
+        return backend.name().toLowerCase(Locale.ROOT) + " " + config.entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    /** {@code @DynamicPropertySource} 用；supplier 在 Spring context 建立時才取值，此時 database 已由 beforeAll 啟動 */
+    public void registerDataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", this::jdbcUrl);
+        registry.add("spring.datasource.username", this::username);
+        registry.add("spring.datasource.password", this::password);
+    }
+
+    /** SpringApplicationBuilder#run 用的命令列參數 (蓋過 application.properties) */
+    public String[] dataSourceArgs() {
+        return new String[]{
+                "--spring.datasource.url=" + jdbcUrl(),
+                "--spring.datasource.username=" + username(),
+                "--spring.datasource.password=" + password()};
+    }
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        start();
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        stop();
+    }
+
+    static Map<String, String> parseConfig(String value) {
+        Map<String, String> config = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected name=value in benchmark.postgres.config: " + entry);
+            }
+            config.put(entry.substring(0, separator).trim(), entry.substring(separator + 1).trim());
+        }
+        return config;
+    }
+}